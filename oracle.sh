@@ -0,0 +1,35 @@
+#! /bin/bash
+# Stand-in for a build/test script to use with the verifierCommand property,
+# e.g. verifierCommand=./oracle.sh {}
+# Reads a configuration file with one literal per line and exits with the
+# index of the first faulty interaction it contains (0 if there is none).
+# Faulty interactions are passed via the FAULTY_INTERACTIONS environment
+# variable (e.g., "1;-3,5;7"), an optional delay in seconds via ORACLE_DELAY.
+
+configuration="$1"
+
+if [ -n "$ORACLE_DELAY" ]; then
+    sleep "$ORACLE_DELAY"
+fi
+
+if [ -z "$FAULTY_INTERACTIONS" ] || [ "$FAULTY_INTERACTIONS" = "null" ]; then
+    exit 0
+fi
+
+index=1
+IFS=',' read -ra interactions <<< "$FAULTY_INTERACTIONS"
+for interaction in "${interactions[@]}"; do
+    contained=1
+    IFS=';' read -ra literals <<< "$interaction"
+    for literal in "${literals[@]}"; do
+        if ! grep -qx -- "$literal" "$configuration"; then
+            contained=0
+            break
+        fi
+    done
+    if [ "$contained" -eq 1 ]; then
+        exit "$index"
+    fi
+    index=$((index + 1))
+done
+exit 0
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import de.featjar.clauses.LiteralList;
+import de.featjar.clauses.solutions.analysis.ConfigurationVerifyer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Verifier that can verify several configurations at once. The finders call
+ * {@link #test(LiteralList)} one configuration at a time, so configurations
+ * are only verified concurrently by callers of {@link #test(List)}.
+ */
+public interface BatchConfigurationVerifyer extends ConfigurationVerifyer {
+
+    /**
+     * Starts the verification of a configuration.
+     *
+     * @param configuration the configuration to verify
+     * @return the future result of {@link #test(LiteralList)}
+     */
+    CompletableFuture<Integer> submit(LiteralList configuration);
+
+    /**
+     * Verifies all given configurations and waits for their results.
+     *
+     * @param configurations the configurations to verify
+     * @return the results in the order of the given configurations
+     */
+    default int[] test(List<LiteralList> configurations) {
+        final List<CompletableFuture<Integer>> futures = new ArrayList<>(configurations.size());
+        for (LiteralList configuration : configurations) {
+            futures.add(submit(configuration));
+        }
+        final int[] results = new int[futures.size()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = futures.get(i).join();
+        }
+        return results;
+    }
+
+    @Override
+    default int test(LiteralList configuration) {
+        return submit(configuration).join();
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import de.featjar.clauses.LiteralList;
+import de.featjar.clauses.solutions.SolutionList;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Binary format for samples of configurations. The file consists of a fixed
+ * header (magic number, version, bits per variable, number of variables, number
+ * of configurations) followed by one packed assignment array per
+ * configuration. Complete samples use one bit per variable (selected or
+ * deselected), partial samples use two bits per variable (selected,
+ * deselected, or unassigned).
+ */
+public class BinarySampleFormat {
+
+    public static final String FILE_EXTENSION = "bin";
+
+    static final int MAGIC = 0x49465342;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 5 * Integer.BYTES;
+
+    static final int UNASSIGNED = 0b00;
+    static final int SELECTED = 0b01;
+    static final int DESELECTED = 0b10;
+
+    public void write(SolutionList sample, Path path) throws IOException {
+        final List<LiteralList> configurations = sample.getSolutions();
+        final int variableCount = sample.getVariables().getVariableCount();
+        final int bitsPerVariable = isComplete(configurations, variableCount) ? 1 : 2;
+        final int configurationSize = getConfigurationSize(variableCount, bitsPerVariable);
+
+        try (FileChannel channel = FileChannel.open(
+                path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC);
+            header.putInt(VERSION);
+            header.putInt(bitsPerVariable);
+            header.putInt(variableCount);
+            header.putInt(configurations.size());
+            header.flip();
+            writeFully(channel, header);
+
+            final ByteBuffer buffer = ByteBuffer.allocate(configurationSize);
+            for (LiteralList configuration : configurations) {
+                Arrays.fill(buffer.array(), (byte) 0);
+                for (int literal : configuration.getLiterals()) {
+                    if (literal != 0) {
+                        final int variableIndex = Math.abs(literal) - 1;
+                        if (bitsPerVariable == 1) {
+                            if (literal > 0) {
+                                final int byteIndex = variableIndex >>> 3;
+                                buffer.put(byteIndex, (byte) (buffer.get(byteIndex) | (1 << (variableIndex & 7))));
+                            }
+                        } else {
+                            final int byteIndex = variableIndex >>> 2;
+                            final int value = literal > 0 ? SELECTED : DESELECTED;
+                            buffer.put(
+                                    byteIndex,
+                                    (byte) (buffer.get(byteIndex) | (value << ((variableIndex & 3) << 1))));
+                        }
+                    }
+                }
+                buffer.clear();
+                writeFully(channel, buffer);
+            }
+        }
+    }
+
+    public MappedSample read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                throw new IOException("File too short for binary sample header: " + path);
+            }
+            if (fileSize > Integer.MAX_VALUE) {
+                throw new IOException("Binary sample exceeds maximum mappable size: " + path);
+            }
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a binary sample file: " + path);
+            }
+            final int version = buffer.getInt(Integer.BYTES);
+            if (version != VERSION) {
+                throw new IOException("Unsupported binary sample version " + version + ": " + path);
+            }
+            final int bitsPerVariable = buffer.getInt(2 * Integer.BYTES);
+            final int variableCount = buffer.getInt(3 * Integer.BYTES);
+            final int configurationCount = buffer.getInt(4 * Integer.BYTES);
+            final int configurationSize = getConfigurationSize(variableCount, bitsPerVariable);
+            if (HEADER_SIZE + (long) configurationSize * configurationCount > fileSize) {
+                throw new IOException("Binary sample file is truncated: " + path);
+            }
+            return new MappedSample(buffer, bitsPerVariable, variableCount, configurationCount, configurationSize);
+        }
+    }
+
+    static int getConfigurationSize(int variableCount, int bitsPerVariable) {
+        return (int) (((long) variableCount * bitsPerVariable + 7) >>> 3);
+    }
+
+    private static boolean isComplete(List<LiteralList> configurations, int variableCount) {
+        for (LiteralList configuration : configurations) {
+            if (configuration.countNonNull() != variableCount) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
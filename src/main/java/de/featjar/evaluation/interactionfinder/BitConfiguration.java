@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import de.featjar.clauses.LiteralList;
+import java.util.Arrays;
+
+/**
+ * Configuration stored as two bitsets, one for the selected and one for the
+ * deselected variables. Variables that are in neither set are unassigned. A
+ * configuration needs two bits per variable instead of one int per literal,
+ * which makes it suitable for configurations that are kept for a long time,
+ * such as the workloads of previous versions or known verification results.
+ */
+public final class BitConfiguration {
+
+    private final int variableCount;
+    private final long[] selected;
+    private final long[] deselected;
+
+    public BitConfiguration(int variableCount) {
+        this.variableCount = variableCount;
+        final int wordCount = (variableCount + 63) >>> 6;
+        selected = new long[wordCount];
+        deselected = new long[wordCount];
+    }
+
+    /**
+     * Creates a bit configuration with the literals of a literal list.
+     *
+     * @param literals the literal list in any order
+     * @param variableCount the number of variables
+     * @return the bit configuration
+     */
+    public static BitConfiguration fromLiteralList(LiteralList literals, int variableCount) {
+        final BitConfiguration configuration = new BitConfiguration(variableCount);
+        for (int literal : literals.getLiterals()) {
+            if (literal != 0) {
+                configuration.set(literal);
+            }
+        }
+        return configuration;
+    }
+
+    /**
+     * @return a literal list in {@link LiteralList.Order#INDEX index order}
+     */
+    public LiteralList toLiteralList() {
+        final int[] literals = new int[variableCount];
+        for (int i = 0; i < variableCount; i++) {
+            literals[i] = getLiteral(i + 1);
+        }
+        return new LiteralList(literals, LiteralList.Order.INDEX);
+    }
+
+    /**
+     * Assigns a variable. A previous assignment of the variable is replaced.
+     *
+     * @param literal the literal to set (must not be {@code 0})
+     */
+    public void set(int literal) {
+        final int index = Math.abs(literal) - 1;
+        final int word = index >>> 6;
+        final long bit = 1L << index;
+        if (literal > 0) {
+            selected[word] |= bit;
+            deselected[word] &= ~bit;
+        } else {
+            deselected[word] |= bit;
+            selected[word] &= ~bit;
+        }
+    }
+
+    /**
+     * @param variable the variable index (starting at 1)
+     * @return the literal of the variable or {@code 0}, if it is unassigned
+     */
+    public int getLiteral(int variable) {
+        final int index = variable - 1;
+        final int word = index >>> 6;
+        final long bit = 1L << index;
+        if ((selected[word] & bit) != 0) {
+            return variable;
+        } else if ((deselected[word] & bit) != 0) {
+            return -variable;
+        } else {
+            return 0;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(selected) + Arrays.hashCode(deselected);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final BitConfiguration other = (BitConfiguration) obj;
+        return variableCount == other.variableCount
+                && Arrays.equals(selected, other.selected)
+                && Arrays.equals(deselected, other.deselected);
+    }
+
+    @Override
+    public String toString() {
+        return toLiteralList().toString();
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+/**
+ * Thrown by {@link LimitedConfigurationVerifyer} and
+ * {@link LimitedConfigurationUpdater} to abort a finder that exceeds its
+ * budget.
+ */
+public class BudgetExhaustedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final RunResult.Status status;
+
+    public BudgetExhaustedException(RunResult.Status status) {
+        super(status.name());
+        this.status = status;
+    }
+
+    public RunResult.Status getStatus() {
+        return status;
+    }
+}
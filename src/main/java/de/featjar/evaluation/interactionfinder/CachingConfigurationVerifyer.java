@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import de.featjar.clauses.LiteralList;
+import de.featjar.clauses.solutions.analysis.ConfigurationVerifyer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Remembers the results of another verifier, so that each configuration is
+ * verified at most once. Can be used concurrently, if the other verifier can.
+ */
+public class CachingConfigurationVerifyer implements ConfigurationVerifyer {
+
+    private final ConfigurationVerifyer verifier;
+    private final Map<IntBuffer, Integer> results = new ConcurrentHashMap<>();
+    private final List<LiteralList> failingConfigurations = new ArrayList<>();
+    private final AtomicInteger hitCounter = new AtomicInteger(), missCounter = new AtomicInteger();
+
+    public CachingConfigurationVerifyer(ConfigurationVerifyer verifier) {
+        this.verifier = verifier;
+    }
+
+    @Override
+    public int test(LiteralList configuration) {
+        // IntBuffer compares by content
+        final IntBuffer key = IntBuffer.wrap(configuration.getLiterals().clone());
+        final Integer cachedResult = results.get(key);
+        if (cachedResult != null) {
+            hitCounter.incrementAndGet();
+            return cachedResult;
+        }
+        missCounter.incrementAndGet();
+        final int result = verifier.test(configuration);
+        if (results.putIfAbsent(key, result) == null && result != 0) {
+            synchronized (failingConfigurations) {
+                failingConfigurations.add(configuration);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the failing configurations in the order of their first
+     *         verification
+     */
+    public List<LiteralList> getFailingConfigurations() {
+        synchronized (failingConfigurations) {
+            return new ArrayList<>(failingConfigurations);
+        }
+    }
+
+    /**
+     * @return the number of verifications answered from the cache
+     */
+    public int getHitCounter() {
+        return hitCounter.get();
+    }
+
+    /**
+     * @return the number of verifications passed to the verifier
+     */
+    public int getMissCounter() {
+        return missCounter.get();
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import de.featjar.clauses.LiteralList;
+import de.featjar.clauses.solutions.analysis.ConfigurationUpdater;
+import java.nio.IntBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded LRU cache from partial configurations to their completions for one
+ * model. Completions are keyed by the partial configuration and the seed the
+ * updater was seeded with, so a cached completion is the same as a computed
+ * one. Can be shared by several updaters and used concurrently.
+ */
+public class CompletionCache {
+
+    private final Map<IntBuffer, Optional<LiteralList>> completions;
+    private long hitCount, missCount, missTime;
+
+    /**
+     * @param capacity the maximum number of cached completions
+     */
+    public CompletionCache(int capacity) {
+        completions = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<IntBuffer, Optional<LiteralList>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Creates an updater that answers completions from the given cache and
+     * passes only cache misses to the given updater.
+     *
+     * @param updater the updater to decorate
+     * @param cache the cache
+     * @param seed supplies the seed the updater is currently seeded with
+     * @return the decorated updater
+     */
+    public static ConfigurationUpdater decorate(
+            ConfigurationUpdater updater, CompletionCache cache, LongSupplier seed) {
+        return partial -> {
+            final IntBuffer key = getKey(seed.getAsLong(), partial);
+            final Optional<LiteralList> cachedCompletion = cache.get(key);
+            if (cachedCompletion != null) {
+                return cachedCompletion;
+            }
+            final long startTime = System.nanoTime();
+            final Optional<LiteralList> completion = updater.update(partial);
+            cache.put(key, completion, System.nanoTime() - startTime);
+            return completion;
+        };
+    }
+
+    private static IntBuffer getKey(long seed, LiteralList partial) {
+        final int[] literals = partial.getLiterals();
+        final int[] key = new int[literals.length + 2];
+        key[0] = (int) (seed >>> 32);
+        key[1] = (int) seed;
+        System.arraycopy(literals, 0, key, 2, literals.length);
+        // IntBuffer compares by content
+        return IntBuffer.wrap(key);
+    }
+
+    private synchronized Optional<LiteralList> get(IntBuffer key) {
+        final Optional<LiteralList> completion = completions.get(key);
+        if (completion != null) {
+            hitCount++;
+        }
+        return completion;
+    }
+
+    private synchronized void put(IntBuffer key, Optional<LiteralList> completion, long time) {
+        missCount++;
+        missTime += time;
+        completions.put(key, completion);
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the share of completions answered from the cache
+     */
+    public synchronized double getHitRate() {
+        final long count = hitCount + missCount;
+        return count == 0 ? 0 : (double) hitCount / count;
+    }
+
+    /**
+     * Estimates the time saved by the cache based on the average time of the
+     * computed completions.
+     *
+     * @return the saved time in ns or {@code -1}, if no completion was computed
+     *         yet
+     */
+    public synchronized long getTimeSaved() {
+        return missCount == 0 ? -1 : hitCount * missTime / missCount;
+    }
+}
@@ -29,11 +29,18 @@ import java.util.Random;
 public class ConfigurationOracle implements ConfigurationVerifyer {
     private final List<LiteralList> interactions;
     private final double fpNoise, fnNoise;
+    private final VerificationLatency latency;
 
     public ConfigurationOracle(List<LiteralList> interactions, double fpNoise, double fnNoise) {
+        this(interactions, fpNoise, fnNoise, VerificationLatency.NONE);
+    }
+
+    public ConfigurationOracle(
+            List<LiteralList> interactions, double fpNoise, double fnNoise, VerificationLatency latency) {
         this.interactions = interactions;
         this.fpNoise = fpNoise;
         this.fnNoise = fnNoise;
+        this.latency = latency;
     }
 
     @Override
@@ -50,12 +57,25 @@ public class ConfigurationOracle implements ConfigurationVerifyer {
         }
         error %= interactions.size() + 1;
 
-        return error == 0 //
+        final int result = error == 0 //
                 ? random.nextDouble() < fnNoise //
                         ? random.nextInt(interactions.size()) + 1 //
                         : 0 //
                 : random.nextDouble() < fpNoise //
                         ? 0 //
                         : error;
+        simulateLatency(configuration, random);
+        return result;
+    }
+
+    private void simulateLatency(LiteralList configuration, Random random) {
+        final long latencyInMS = latency.getLatency(configuration, random);
+        if (latencyInMS > 0) {
+            try {
+                Thread.sleep(latencyInMS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
     }
 }
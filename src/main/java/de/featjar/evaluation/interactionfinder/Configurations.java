@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import de.featjar.clauses.LiteralList;
+
+/**
+ * Helper methods for configurations.
+ */
+final class Configurations {
+
+    private Configurations() {}
+
+    /**
+     * @param configuration a configuration
+     * @return the number of selected features
+     */
+    static int countSelected(LiteralList configuration) {
+        int count = 0;
+        for (int l : configuration.getLiterals()) {
+            if (l > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
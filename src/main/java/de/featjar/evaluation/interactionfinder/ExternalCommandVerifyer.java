@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import de.featjar.clauses.LiteralList;
+import de.featjar.util.logging.Logger;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies configurations by running a local command, such as a build or test
+ * script. Each configuration is written to a temporary file with one literal
+ * per line. The path of this file replaces the argument {@value #FILE_PLACEHOLDER}
+ * in the command or is appended to it. The exit code of the command is the
+ * result of the verification (i.e., {@code 0} for passing configurations and
+ * the index of the fault otherwise). The exit codes {@code 126} and
+ * {@code 127}, which a shell returns for commands that are not executable or
+ * not found, are errors instead of results. Up to a given number of commands
+ * run concurrently, which only happens for batches (see
+ * {@link BatchConfigurationVerifyer}).
+ */
+public class ExternalCommandVerifyer implements BatchConfigurationVerifyer, AutoCloseable {
+
+    public static final String FILE_PLACEHOLDER = "{}";
+
+    private static final int NOT_EXECUTABLE_EXIT_CODE = 126;
+    private static final int NOT_FOUND_EXIT_CODE = 127;
+
+    private final List<String> command;
+    private final long timeoutInMS;
+    private final int timeoutResult;
+    private final ExecutorService executor;
+
+    /**
+     * @param command the command and its arguments
+     * @param threadCount the maximum number of concurrent commands
+     * @param timeoutInMS the time after which a command is terminated
+     * @param timeoutResult the result for configurations whose command timed out
+     */
+    public ExternalCommandVerifyer(List<String> command, int threadCount, long timeoutInMS, int timeoutResult) {
+        this.command = command;
+        this.timeoutInMS = timeoutInMS;
+        this.timeoutResult = timeoutResult;
+        executor = Executors.newFixedThreadPool(Math.max(1, threadCount), r -> {
+            Thread thread = new Thread(r, "verifier");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Integer> submit(LiteralList configuration) {
+        return CompletableFuture.supplyAsync(() -> run(configuration), executor);
+    }
+
+    private int run(LiteralList configuration) {
+        Path configurationFile = null;
+        try {
+            configurationFile = Files.createTempFile("configuration", ".txt");
+            StringBuilder sb = new StringBuilder();
+            for (int l : configuration.getLiterals()) {
+                if (l != 0) {
+                    sb.append(l);
+                    sb.append("\n");
+                }
+            }
+            Files.writeString(configurationFile, sb);
+
+            ProcessBuilder processBuilder = new ProcessBuilder(getCommand(configurationFile));
+            processBuilder.redirectErrorStream(true);
+            processBuilder.redirectOutput(ProcessBuilder.Redirect.DISCARD);
+            Process process = processBuilder.start();
+            try {
+                if (process.waitFor(timeoutInMS, TimeUnit.MILLISECONDS)) {
+                    final int exitCode = process.exitValue();
+                    if (exitCode == NOT_EXECUTABLE_EXIT_CODE || exitCode == NOT_FOUND_EXIT_CODE) {
+                        throw new IllegalStateException(
+                                "Verifier command " + command + " could not be executed (exit code " + exitCode + ")");
+                    }
+                    return exitCode;
+                } else {
+                    return timeoutResult;
+                }
+            } finally {
+                // builds and tests started by the command must not outlive it
+                process.descendants().forEach(ProcessHandle::destroyForcibly);
+                process.destroyForcibly();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } finally {
+            if (configurationFile != null) {
+                try {
+                    Files.deleteIfExists(configurationFile);
+                } catch (IOException e) {
+                    Logger.logError(e);
+                }
+            }
+        }
+    }
+
+    private List<String> getCommand(Path configurationFile) {
+        List<String> commandWithFile = new ArrayList<>(command.size() + 1);
+        boolean replaced = false;
+        for (String argument : command) {
+            if (FILE_PLACEHOLDER.equals(argument)) {
+                commandWithFile.add(configurationFile.toString());
+                replaced = true;
+            } else {
+                commandWithFile.add(argument);
+            }
+        }
+        if (!replaced) {
+            commandWithFile.add(configurationFile.toString());
+        }
+        return commandWithFile;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
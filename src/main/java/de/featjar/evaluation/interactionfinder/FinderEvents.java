@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder events of the interaction finder runner. Events are
+ * only committed while a recording has them enabled.
+ */
+public final class FinderEvents {
+
+    private static final String CATEGORY = "Interaction Finder";
+
+    private FinderEvents() {}
+
+    @Name("de.featjar.interactionfinder.Run")
+    @Label("Interaction Finder Run")
+    @Category({"FeatJAR", CATEGORY})
+    public static class RunEvent extends Event {
+        @Label("Cell")
+        String cellKey;
+
+        @Label("Algorithm")
+        String algorithm;
+
+        @Label("T")
+        int t;
+
+        @Label("Status")
+        String status;
+
+        @Label("Verifications")
+        int verificationCount;
+
+        @Label("Creations")
+        int creationCount;
+    }
+
+    @Name("de.featjar.interactionfinder.Verification")
+    @Label("Configuration Verification")
+    @Category({"FeatJAR", CATEGORY})
+    public static class VerificationEvent extends Event {
+        @Label("Selected Features")
+        int selectedCount;
+
+        @Label("Result")
+        int result;
+    }
+
+    @Name("de.featjar.interactionfinder.Update")
+    @Label("Configuration Update")
+    @Category({"FeatJAR", CATEGORY})
+    public static class UpdateEvent extends Event {
+        @Label("Method")
+        String method;
+
+        @Label("Success")
+        boolean success;
+    }
+}
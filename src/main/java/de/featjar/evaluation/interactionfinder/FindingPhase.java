@@ -20,6 +20,8 @@
  */
 package de.featjar.evaluation.interactionfinder;
 
+import de.featjar.analysis.mig.solver.MIG;
+import de.featjar.analysis.mig.solver.MIGProvider;
 import de.featjar.analysis.sat4j.CoreDeadAnalysis;
 import de.featjar.analysis.sat4j.FastRandomConfigurationGenerator;
 import de.featjar.analysis.sat4j.RandomConfigurationGenerator;
@@ -39,17 +41,20 @@ import de.featjar.formula.structure.FormulaProvider.CNF;
 import de.featjar.util.io.IO;
 import de.featjar.util.io.csv.CSVWriter;
 import de.featjar.util.logging.Logger;
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -58,76 +63,135 @@ import java.util.stream.Stream;
 public class FindingPhase implements EvaluationPhase {
 
     private List<String> algorithmNameList;
+    private List<SweepCell> cells;
 
-    private CSVWriter runDataWriter, modelWriter, algorithmWriter;
+    private CSVWriter runDataWriter, modelWriter, algorithmWriter, phaseTimeWriter;
     private int algorithmIndex, algorithmIteration;
     private ModelRepresentation model;
     private LiteralList coreDead;
+    private MIGConfigurationUpdater.Statistics migStatistics;
+    private CompletionCache completionCache;
+    private ModelHistory modelHistory;
+    private ModelHistory.Change versionChange;
+    private int reusedWorkloadCount;
+    private PhaseTimer workloadPhaseTimer, totalPhaseTimer;
+    private Workload writtenWorkload;
+    private PhaseTimer writtenPhaseTimer;
+    private PhaseTimer.Phase writtenPhase;
 
     private List<LiteralList> faultyConfigs;
     private List<LiteralList> faultyInteractions, faultyInteractionsUpdated;
+    private String workloadKey;
+    private boolean workloadReused;
 
     private InteractionFinderEvaluator interactionFinderEvaluator;
 
     private int t, interactionSize, interactionCount;
     private double fpNoise;
     private double fnNoise;
+    private int verificationLimit, creationLimit;
 
-    private List<LiteralList> foundInteractions;
-    private LiteralList foundInteractionsMerged;
-    private LiteralList foundInteractionsMergedAndUpdated;
-    private long elapsedTimeInMS;
-    private int verificationCounter, creationCounter;
+    private final Map<SweepCell, CompletableFuture<RunOutput>> sessions = new HashMap<>();
+    private int variableCount, clauseCount, coreCount;
+
+    private SweepMonitor monitor;
+    private ParallelConfigurationGenerator configGenerator;
+
+    /**
+     * Environment variable that passes the faulty interactions to external
+     * verifier commands (e.g., oracle.sh).
+     */
+    private static final String FAULTY_INTERACTIONS_VARIABLE = "FAULTY_INTERACTIONS";
+
+    private static final String[] RUN_DATA_COLUMNS = {
+        "ModelID",
+        "ModelIteration",
+        "AlgorithmID",
+        "AlgorithmIteration",
+        "T",
+        "InteractionSize",
+        // "InteractionCount",
+        "Interactions",
+        "InteractionsUpdated",
+        // "FPNoise",
+        // "FNNoise",
+        "ConfigurationVerificationLimit",
+        "ConfigurationCreationLimit",
+        // "FoundInteractions",
+        // "FoundInteractionsUpdated",
+        "Status",
+        "FoundInteractionCount",
+        "FoundInteractionsMerged",
+        "FoundMergedUpdatedIsSubsetFaultyUpdated",
+        "FaultyUpdatedIsSubsetFoundMergedUpdated",
+        "FoundMergedIsSubsetFaulty",
+        "FaultyIsSubsetFoundMerged",
+        "FaultyIsSubsetFound",
+        "FoundIsSubsetFaulty",
+        "FoundLiteralsCount",
+        "CorrectlyFoundLiteralsCount",
+        "MissedLiteralsCount",
+        "IncorrectlyFoundLiteralsCount",
+        "ConfigurationVerificationCount",
+        "ConfigurationCreationCount",
+        "Time",
+        "HeapSize",
+        "PeakHeapUsage",
+        "StartupTime",
+        "CDS",
+        "CachedVerificationCount",
+        "CumulativeVerificationCount",
+        "CumulativeTime",
+        "Winner",
+        ResultIndex.RUN_KEY_COLUMN
+    };
+
+    private Path cdsArchive;
+    private ResultIndex resultIndex;
+    private String runnerKey;
+    private RunPipeline<RunRecord> runPipeline;
+    private RunRecord writtenRecord;
+    private RunExecutor runExecutor;
+    private HeapSizer heapSizer;
+    private boolean adaptiveMemory;
+    private boolean binarySample;
     private Path modelPath, samplePath, outPath;
-    private String modelPathString, samplePathString, outPathString;
+    private String modelKey;
 
     @Override
     public void run(Evaluator evaluator) {
         Logger.setPrintStackTrace(true);
         interactionFinderEvaluator = (InteractionFinderEvaluator) evaluator;
 
-        modelWriter = evaluator.addCSVWriter("models.csv", "ModelID", "Name", "#Variables", "#Core", "#Clauses");
+        modelWriter = evaluator.addCSVWriter(
+                "models.csv",
+                Stream.concat(
+                                Stream.of(
+                                        "ModelID",
+                                        "Name",
+                                        "#Variables",
+                                        "#Core",
+                                        "#Clauses",
+                                        "#MIGCompletions",
+                                        "#SATCompletions",
+                                        "MIGTimeSaved",
+                                        "#CachedCompletions",
+                                        "#ComputedCompletions",
+                                        "CompletionCacheTimeSaved",
+                                        "VersionChange",
+                                        "#ReusedWorkloads",
+                                        "ComparableWorkloads"),
+                                Arrays.stream(PhaseTimer.Phase.values()).map(phase -> phase + "Time"))
+                        .toArray(String[]::new));
         algorithmWriter = evaluator.addCSVWriter("algorithms.csv", "AlgorithmID", "Name");
-        runDataWriter = evaluator.addCSVWriter(
-                "runData.csv",
-                "ModelID",
-                "ModelIteration",
-                "AlgorithmID",
-                "AlgorithmIteration",
-                "T",
-                "InteractionSize",
-                // "InteractionCount",
-                "Interactions",
-                "InteractionsUpdated",
-                // "FPNoise",
-                // "FNNoise",
-                // "ConfigurationVerificationLimit",
-                // "ConfigurationCreationLimit",
-                // "FoundInteractions",
-                // "FoundInteractionsUpdated",
-                "FoundInteractionCount",
-                "FoundInteractionsMerged",
-                "FoundMergedUpdatedIsSubsetFaultyUpdated",
-                "FaultyUpdatedIsSubsetFoundMergedUpdated",
-                "FoundMergedIsSubsetFaulty",
-                "FaultyIsSubsetFoundMerged",
-                "FaultyIsSubsetFound",
-                "FoundIsSubsetFaulty",
-                "FoundLiteralsCount",
-                "CorrectlyFoundLiteralsCount",
-                "MissedLiteralsCount",
-                "IncorrectlyFoundLiteralsCount",
-                "ConfigurationVerificationCount",
-                "ConfigurationCreationCount",
-                "Time");
+        runDataWriter = evaluator.addCSVWriter("runData.csv", RUN_DATA_COLUMNS);
+        phaseTimeWriter = evaluator.addCSVWriter(
+                "phaseTimes.csv", "ModelID", "ModelIteration", "InteractionSize", "InteractionCount", "Phase", "Time");
 
         modelWriter.setLineWriter(this::writeModel);
         algorithmWriter.setLineWriter(this::writeAlgorithm);
         runDataWriter.setLineWriter(this::writeRunData);
-
-        final ModelReader<Formula> mr = new ModelReader<>();
-        mr.setPathToFiles(interactionFinderEvaluator.modelPath);
-        mr.setFormatSupplier(FormulaFormatManager.getInstance());
+        phaseTimeWriter.setLineWriter(this::writePhaseTime);
 
         if (evaluator.systemIterations.getValue() > 0) {
             evaluator.tabFormatter.setTabLevel(0);
@@ -135,122 +199,196 @@ public class FindingPhase implements EvaluationPhase {
 
             prepareAlgorithms();
 
-            modelPath = evaluator.tempPath.resolve("model.dimacs");
-            modelPathString = modelPath.toString();
-            samplePath = evaluator.tempPath.resolve("sample.csv");
-            samplePathString = samplePath.toString();
+            adaptiveMemory = interactionFinderEvaluator.adaptiveMemoryProperty.getValue();
+            heapSizer = new HeapSizer(
+                    interactionFinderEvaluator.minMemoryProperty.getValue(),
+                    interactionFinderEvaluator.memoryProperty.getValue() * 1024);
+
+            binarySample = "binary".equals(interactionFinderEvaluator.sampleFormatProperty.getValue());
+            samplePath = evaluator.tempPath.resolve(
+                    binarySample ? "sample." + BinarySampleFormat.FILE_EXTENSION : "sample.csv");
             outPath = evaluator.tempPath.resolve("output");
-            outPathString = outPath.toString();
 
-            systemLoop:
-            for (evaluator.systemIndex = 0; evaluator.systemIndex < evaluator.systemIndexMax; evaluator.systemIndex++) {
-                evaluator.tabFormatter.setTabLevel(1);
-                evaluator.logSystem();
+            cdsArchive = interactionFinderEvaluator.cdsProperty.getValue()
+                            && Files.exists(LocalRunExecutor.RUNNER_CDS_ARCHIVE)
+                    ? LocalRunExecutor.RUNNER_CDS_ARCHIVE
+                    : null;
+            Logger.logInfo(cdsArchive != null ? "Runner uses CDS archive " + cdsArchive : "Runner uses no CDS archive");
+            if (interactionFinderEvaluator.verifierThreadsProperty.getValue() > 1) {
+                Logger.logInfo("verifierThreads has no effect, as the finders verify one configuration at a time");
+            }
 
-                if (!readModel(mr)) {
-                    continue systemLoop;
+            resultIndex = new ResultIndex();
+            for (String resultPathString : interactionFinderEvaluator.reuseResultsProperty.getValue()) {
+                try {
+                    resultIndex.addResults(Paths.get(resultPathString));
+                } catch (IOException e) {
+                    Logger.logError(e);
                 }
+            }
+            try {
+                runnerKey = RunKey.of(LocalRunExecutor.RUNNER_JAR);
+            } catch (IOException e) {
+                Logger.logError(e);
+                runnerKey = LocalRunExecutor.RUNNER_JAR.toString();
+            }
 
-                coreDead = model.get(new CoreDeadAnalysis());
-                RandomConfigurationUpdater globalUpdater = new RandomConfigurationUpdater(model, new Random(0));
-
-                modelWriter.writeLine();
-
+            int coordinatorPort = interactionFinderEvaluator.coordinatorPortProperty.getValue();
+            int postProcessingThreads = interactionFinderEvaluator.postProcessingThreadsProperty.getValue();
+            if (coordinatorPort > 0) {
                 try {
-                    IO.save(model.get(CNF.fromFormula()), modelPath, new DIMACSFormat());
-                } catch (IOException e) {
+                    runExecutor = new SweepCoordinator(
+                            coordinatorPort, interactionFinderEvaluator.heartbeatTimeoutProperty.getValue());
+                } catch (IOException | IllegalArgumentException e) {
                     Logger.logError(e);
-                    continue;
+                    return;
                 }
+                postProcessingThreads = Math.max(1, postProcessingThreads);
+            } else {
+                runExecutor = new LocalRunExecutor(evaluator.tempPath);
+            }
+
+            modelHistory = interactionFinderEvaluator.versionReuseProperty.getValue() ? new ModelHistory() : null;
+
+            SweepPlanner planner = new SweepPlanner(interactionFinderEvaluator);
+            cells = planner.plan();
+            planner.logPlan(cells);
+
+            monitor = new SweepMonitor();
+            monitor.register();
+            try {
+                monitor.addRuns((long) evaluator.systemIndexMax * getRunsPerSystem());
+
+                int generatorThreads = interactionFinderEvaluator.generatorThreadsProperty.getValue();
+                configGenerator = generatorThreads > 0 ? new ParallelConfigurationGenerator(generatorThreads) : null;
+
+                SystemPrefetcher prefetcher = new SystemPrefetcher(
+                        interactionFinderEvaluator.prefetchSystemsProperty.getValue(),
+                        evaluator.systemIndexMax,
+                        this::prepareSystem);
+                runPipeline = new RunPipeline<>(
+                        postProcessingThreads,
+                        interactionFinderEvaluator.postProcessingQueueProperty.getValue(),
+                        this::evaluateRunRecord,
+                        this::writeRunRecord);
+
+                systemLoop:
+                for (evaluator.systemIndex = 0;
+                        evaluator.systemIndex < evaluator.systemIndexMax;
+                        evaluator.systemIndex++) {
+                    evaluator.tabFormatter.setTabLevel(1);
+                    evaluator.logSystem();
 
-                for (evaluator.systemIteration = 1;
-                        evaluator.systemIteration <= evaluator.systemIterations.getValue();
-                        evaluator.systemIteration++) {
-
-                    for (Integer interactionSizeValue : interactionFinderEvaluator.interactionSizeProperty.getValue()) {
-                        interactionSize = interactionSizeValue;
-                        for (Integer interactionCountValue :
-                                interactionFinderEvaluator.interactionCountProperty.getValue()) {
-                            interactionCount = interactionCountValue;
-
-                            Random random1 = new Random(evaluator.randomSeed.getValue() + evaluator.systemIteration);
-                            faultyConfigs = model.getResult(getConfigGenerator(random1))
-                                    .map(SolutionList::getSolutions)
-                                    .orElse(Logger::logProblems);
-                            if (faultyConfigs == null) {
-                                throw new RuntimeException();
+                    PreparedSystem system = prefetcher.get(evaluator.systemIndex);
+                    if (!system.isValid()) {
+                        monitor.addRuns(-getRunsPerSystem());
+                        continue systemLoop;
+                    }
+
+                    model = system.model;
+                    coreDead = system.coreDead;
+                    variableCount = system.variableCount;
+                    clauseCount = system.clauseCount;
+                    coreCount = system.coreCount;
+                    modelPath = system.dimacsPath;
+                    modelKey = system.modelKey;
+                    migStatistics = system.migStatistics;
+                    completionCache = system.completionCache;
+                    if (system.versionDiff != null) {
+                        versionChange = system.versionDiff.getChange();
+                        Logger.logInfo("Version change: " + versionChange);
+                    }
+
+                    List<Workload> systemWorkloads = new ArrayList<>();
+                    for (evaluator.systemIteration = 1;
+                            evaluator.systemIteration <= evaluator.systemIterations.getValue();
+                            evaluator.systemIteration++) {
+                        SweepCell workloadCell = null;
+                        SweepCell failedCell = null;
+                        boolean workloadPrepared = false;
+
+                        for (SweepCell cell : cells) {
+                            if (workloadCell == null || !cell.hasSameWorkload(workloadCell)) {
+                                workloadCell = cell;
+                                sessions.clear();
+                                Workload workload = getOrCreateWorkload(system, evaluator.systemIteration, cell);
+                                if (!systemWorkloads.contains(workload)) {
+                                    systemWorkloads.add(workload);
+                                }
+                                workloadPrepared = applyWorkload(workload);
                             }
-                            try {
-                                IO.save(
-                                        new SolutionList(model.getVariables(), faultyConfigs),
-                                        samplePath,
-                                        new ListFormat());
-                            } catch (IOException e) {
-                                Logger.logError(e);
+                            if (!workloadPrepared || (failedCell != null && cell.hasSameAlgorithm(failedCell))) {
+                                monitor.addRuns(-1);
                                 continue;
                             }
+                            setCell(cell);
 
-                            Random random2 = new Random(evaluator.randomSeed.getValue() + evaluator.systemIteration);
-                            faultyInteractions = faultyConfigs.stream()
-                                    .map(c -> new LiteralList(Stream.generate(() -> (random2.nextInt(c.size()) + 1)) //
-                                            .mapToInt(Integer::intValue) //
-                                            .filter(l -> !coreDead.containsAnyVariable(l))
-                                            .distinct() //
-                                            .limit(interactionSize) //
-                                            .map(l -> c.get(l - 1)) //
-                                            .toArray()))
-                                    .collect(Collectors.toList());
-                            faultyInteractionsUpdated = faultyInteractions.stream()
-                                    .map(globalUpdater::update)
-                                    .filter(Optional::isPresent)
-                                    .map(Optional::get)
-                                    .collect(Collectors.toList());
-
-                            for (Double fpNoiseValue : interactionFinderEvaluator.fpNoiseProperty.getValue()) {
-                                fpNoise = fpNoiseValue;
-                                for (Double fnNoiseValue : interactionFinderEvaluator.fnNoiseProperty.getValue()) {
-                                    fnNoise = fnNoiseValue;
-
-                                    algorithmLoop:
-                                    for (algorithmIndex = 0;
-                                            algorithmIndex < algorithmNameList.size();
-                                            algorithmIndex++) {
-                                        for (Integer tValue : interactionFinderEvaluator.tProperty.getValue()) {
-                                            t = tValue;
-
-                                            for (algorithmIteration = 1;
-                                                    algorithmIteration <= evaluator.algorithmIterations.getValue();
-                                                    algorithmIteration++) {
-                                                evaluator.tabFormatter.setTabLevel(2);
-                                                logRun();
-                                                evaluator.tabFormatter.setTabLevel(3);
-
-                                                try {
-                                                    startInteractionFinder();
-
-                                                    if (foundInteractions != null) {
-                                                        foundInteractionsMerged = LiteralList.merge(foundInteractions);
-                                                        foundInteractionsMergedAndUpdated = globalUpdater
-                                                                .update(foundInteractionsMerged)
-                                                                .orElse(null);
-                                                    } else {
-                                                        foundInteractionsMerged = null;
-                                                        foundInteractionsMergedAndUpdated = null;
-                                                    }
-                                                    runDataWriter.writeLine();
-                                                } catch (final Exception e) {
-                                                    Logger.logError(e);
-                                                    continue algorithmLoop;
-                                                }
-                                            }
-                                        }
-                                    }
-                                }
+                            evaluator.tabFormatter.setTabLevel(2);
+                            logRun();
+                            evaluator.tabFormatter.setTabLevel(3);
+
+                            RunRecord record = new RunRecord();
+                            record.runKey = getRunKey(system);
+                            record.reusedRow = resultIndex.get(record.runKey);
+                            if (record.reusedRow != null) {
+                                Logger.logInfo("Reused " + record.runKey);
+                                fillRunRecord(record, system);
+                                submitRunRecord(record);
+                                monitor.addRuns(-1);
+                                continue;
+                            }
+
+                            long monitorID = monitor.startRun(getCellKey());
+                            try {
+                                fillRunRecord(record, system);
+                                record.monitorID = monitorID;
+                                record.algorithmName = cell.algorithmName;
+                                record.systemName = interactionFinderEvaluator.getSystemName();
+                                record.outputFileName = getOutputFileName(cell);
+                                record.phaseTimer = workloadPhaseTimer;
+                                record.output = getRunOutput(cell);
+                                submitRunRecord(record);
+                            } catch (final Exception e) {
+                                Logger.logError(e);
+                                monitor.finishRun(
+                                        monitorID,
+                                        cell.algorithmName,
+                                        interactionFinderEvaluator.getSystemName(),
+                                        -1,
+                                        RunResult.Status.Failed);
+                                failedCell = cell;
                             }
                         }
                     }
+                    flushRunPipeline();
+                    if (completionCache != null) {
+                        Logger.logInfo(String.format(
+                                "Completion cache hit rate %.1f%%", 100 * completionCache.getHitRate()));
+                    }
+                    writePhaseTimes(system, systemWorkloads);
+                    reusedWorkloadCount = system.reusedWorkloadCount;
+                    modelWriter.writeLine();
+                    try {
+                        Files.deleteIfExists(system.dimacsPath);
+                    } catch (IOException e) {
+                        Logger.logError(e);
+                    }
+                    evaluator.tabFormatter.setTabLevel(0);
                 }
-                evaluator.tabFormatter.setTabLevel(0);
+                prefetcher.close();
+                try {
+                    runPipeline.close();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                runExecutor.close();
+                Logger.logInfo("Post-processing blocked " + runPipeline.getBlockedCount() + " runs for "
+                        + runPipeline.getBlockedTime() + "ms");
+                if (configGenerator != null) {
+                    configGenerator.close();
+                }
+            } finally {
+                monitor.unregister();
             }
             Logger.logInfo("Finished");
         } else {
@@ -258,87 +396,212 @@ public class FindingPhase implements EvaluationPhase {
         }
     }
 
-    @SuppressWarnings("unused")
-    private void startInteractionFinder2(LiteralList coreDead) {
-        try {
-            InteractionFinderRunner.main(new String[] {
-                modelPathString, //
-                samplePathString, //
-                outPathString, //
+    /**
+     * Starts a runner that runs the current cell for the given t values. With
+     * more than one t value, the runs are done in one session and later runs
+     * reuse the verification results of earlier ones.
+     *
+     * @param tValues the t values in ascending order
+     * @return the output of the runner
+     */
+    private CompletableFuture<RunOutput> startInteractionFinder(List<Integer> tValues) throws IOException {
+        RunTask task = createRunTask(tValues);
+        return runExecutor.execute(task).exceptionally(e -> {
+            Logger.logError(e);
+            return new RunOutput(RunOutput.FAILED_EXIT_CODE, task.heapSize);
+        });
+    }
+
+    /**
+     * Returns the output of the runner for the current cell. In incremental
+     * mode, the first cell of a session starts the runner for all t values of
+     * the session and the remaining cells take their results from it.
+     *
+     * @param cell the current cell
+     * @return the output of the runner
+     */
+    private CompletableFuture<RunOutput> getRunOutput(SweepCell cell) throws IOException {
+        if (!interactionFinderEvaluator.incrementalTProperty.getValue()) {
+            return startInteractionFinder(List.of(cell.t));
+        }
+        for (Map.Entry<SweepCell, CompletableFuture<RunOutput>> session : sessions.entrySet()) {
+            if (session.getKey().hasSameSession(cell)) {
+                return session.getValue();
+            }
+        }
+        CompletableFuture<RunOutput> output = startInteractionFinder(getSessionTValues(cell));
+        sessions.put(cell, output);
+        return output;
+    }
+
+    private List<Integer> getSessionTValues(SweepCell cell) {
+        if (!interactionFinderEvaluator.incrementalTProperty.getValue()) {
+            return List.of(cell.t);
+        }
+        return cells.stream()
+                .filter(cell::hasSameSession)
+                .map(c -> c.t)
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private String getOutputFileName(SweepCell cell) {
+        return getSessionTValues(cell).size() == 1
+                ? outPath.getFileName().toString()
+                : RunResult.getPath(outPath, cell.t).getFileName().toString();
+    }
+
+    private RunTask createRunTask(List<Integer> tValues) {
+        RunTask task = new RunTask();
+        task.cellKey = getCellKey();
+        task.tValues = tValues;
+        task.heapSize = adaptiveMemory
+                ? heapSizer.getHeapSize(
+                        interactionFinderEvaluator.getSystemName(), variableCount, clauseCount, coreCount)
+                : heapSizer.getMaxHeapSize();
+        task.retryHeapSize = heapSizer.getRetryHeapSize(task.heapSize);
+        task.timeout = interactionFinderEvaluator.runTimeoutProperty.getValue();
+        task.modelKey = modelKey;
+        task.modelPath = modelPath;
+        task.samplePath = samplePath;
+        task.sampleFileName = samplePath.getFileName().toString();
+        if (interactionFinderEvaluator.jfrProperty.getValue()) {
+            Path jfrPath = interactionFinderEvaluator.outputPath.resolve("jfr");
+            task.outputDirectories.add(jfrPath.toString());
+            task.jvmOptions.add("-XX:StartFlightRecording=settings=profile,dumponexit=true,filename="
+                    + jfrPath.resolve(getCellKey() + ".jfr"));
+        }
+        String tracePathString = "null";
+        if (interactionFinderEvaluator.traceProperty.getValue()) {
+            Path tracePath = interactionFinderEvaluator.outputPath.resolve("traces");
+            task.outputDirectories.add(tracePath.toString());
+            tracePathString = tracePath.resolve(getCellKey() + "." + VerificationTrace.FILE_EXTENSION)
+                    .toString();
+        }
+        if (cdsArchive != null) {
+            task.jvmOptions.add("-XX:SharedArchiveFile=" + cdsArchive);
+        }
+        task.arguments.addAll(List.of(
                 interactionFinderEvaluator.algorithmsProperty.getValue().get(algorithmIndex), //
-                String.valueOf(t), //
+                tValues.stream().map(String::valueOf).collect(Collectors.joining(";")), //
                 encodeLiterals(List.of(coreDead)), //
                 String.valueOf(interactionFinderEvaluator.randomSeed.getValue()
                         + interactionFinderEvaluator.systemIteration), //
                 encodeLiterals(faultyInteractions), //
                 String.valueOf(fpNoise), //
-                String.valueOf(fnNoise)
-            });
-            readResult();
-        } catch (IOException e) {
-            e.printStackTrace();
+                String.valueOf(fnNoise), //
+                String.valueOf(verificationLimit), //
+                String.valueOf(creationLimit), //
+                interactionFinderEvaluator.oracleLatencyProperty.getValue(), //
+                String.valueOf(interactionFinderEvaluator.verifierThreadsProperty.getValue()), //
+                String.valueOf(interactionFinderEvaluator.verifierTimeoutProperty.getValue()), //
+                getCellKey(), //
+                tracePathString));
+        task.arguments.addAll(interactionFinderEvaluator.verifierCommandProperty.getValue());
+        task.environment.put(FAULTY_INTERACTIONS_VARIABLE, encodeLiterals(faultyInteractions));
+        return task;
+    }
+
+    /**
+     * Copies the result of a run into its record.
+     *
+     * @param record the run
+     * @param output the output of the runner
+     */
+    private void setResult(RunRecord record, RunOutput output) {
+        record.phaseTimer.add(PhaseTimer.Phase.ProcessSpawn, output.getSpawnTimeInNS());
+        long startTime = System.nanoTime();
+        RunResult result = output.getExitCode() == 0 ? output.getResult(record.outputFileName) : null;
+        record.phaseTimer.stop(PhaseTimer.Phase.ResultParsing, startTime);
+        if (result == null) {
+            result = new RunResult();
+            if (output.getExitCode() == LocalRunExecutor.TIMEOUT_EXIT_CODE) {
+                result.status = RunResult.Status.Timeout;
+            }
+        } else {
+            heapSizer.addPeakHeapUsage(record.systemName, result.getPeakHeapUsage());
         }
+        record.heapSize = output.getHeapSize();
+        setResult(record, result);
     }
 
-    private void startInteractionFinder() {
-        try {
-            ProcessBuilder processBuilder = new ProcessBuilder(
-                    "java", //
-                    "-Xmx" + interactionFinderEvaluator.memoryProperty.getValue() + "g", //
-                    "-da", //
-                    "-cp", //
-                    "build/libs/evaluation-interaction-analysis-0.1.0-SNAPSHOT-all.jar", //
-                    "de.featjar.evaluation.interactionfinder.InteractionFinderRunner", //
-                    modelPathString, //
-                    samplePathString, //
-                    outPathString, //
-                    interactionFinderEvaluator.algorithmsProperty.getValue().get(algorithmIndex), //
-                    String.valueOf(t), //
-                    encodeLiterals(List.of(coreDead)), //
-                    String.valueOf(interactionFinderEvaluator.randomSeed.getValue()
-                            + interactionFinderEvaluator.systemIteration), //
-                    encodeLiterals(faultyInteractions), //
-                    String.valueOf(fpNoise), //
-                    String.valueOf(fnNoise));
-            processBuilder.redirectErrorStream(true);
-            Process process = processBuilder.start();
-            try (BufferedReader prcOut = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                String line = null;
-                while ((line = prcOut.readLine()) != null) {
-                    Logger.logError(line);
-                }
+    /**
+     * Copies the values of a result into a record.
+     *
+     * @param record the run
+     * @param result the result of the run
+     */
+    private static void setResult(RunRecord record, RunResult result) {
+        record.status = result.getStatus();
+        record.elapsedTimeInMS = result.getElapsedTimeInMS();
+        record.verificationCounter = result.getVerificationCounter();
+        record.creationCounter = result.getCreationCounter();
+        record.peakHeapUsage = result.getPeakHeapUsage();
+        record.startupTimeInMS = result.getStartupTimeInMS();
+        record.cachedVerificationCounter = result.getCachedVerificationCounter();
+        record.cumulativeVerificationCounter = result.getCumulativeVerificationCounter();
+        record.cumulativeTimeInMS = result.getCumulativeTimeInMS();
+        record.winner = result.getWinner();
+        record.foundInteractions = result.getFoundInteractions();
+    }
 
-                int exitCode = process.waitFor();
-                if (exitCode == 0) {
-                    readResult();
-                } else {
-                    elapsedTimeInMS = -1;
-                    creationCounter = -1;
-                    verificationCounter = -1;
-                    foundInteractions = null;
+    /**
+     * Writes the phase times of a system and its workloads to phaseTimes.csv
+     * and sums them up for models.csv.
+     *
+     * @param system the system
+     * @param workloads the workloads of all runs of the system
+     */
+    private void writePhaseTimes(PreparedSystem system, List<Workload> workloads) {
+        totalPhaseTimer = new PhaseTimer();
+        totalPhaseTimer.add(system.phaseTimer);
+        writtenPhaseTimer = system.phaseTimer;
+        for (PhaseTimer.Phase phase : PhaseTimer.Phase.values()) {
+            if (!phase.isPerWorkload()) {
+                writtenPhase = phase;
+                phaseTimeWriter.writeLine();
+            }
+        }
+        for (Workload workload : workloads) {
+            totalPhaseTimer.add(workload.phaseTimer);
+            writtenWorkload = workload;
+            writtenPhaseTimer = workload.phaseTimer;
+            for (PhaseTimer.Phase phase : PhaseTimer.Phase.values()) {
+                if (phase.isPerWorkload()) {
+                    writtenPhase = phase;
+                    phaseTimeWriter.writeLine();
                 }
             }
-        } catch (IOException | InterruptedException e) {
-            Logger.logError(e);
         }
+        writtenWorkload = null;
+        writtenPhaseTimer = null;
     }
 
-    private void readResult() throws IOException {
-        String[] results = Files.lines(outPath).toArray(String[]::new);
-        elapsedTimeInMS = Long.parseLong(results[0]);
-        verificationCounter = Integer.parseInt(results[1]);
+    protected void writePhaseTime(CSVWriter phaseTimeCSVWriter) {
+        phaseTimeCSVWriter.addValue(interactionFinderEvaluator.getSystemID());
+        if (writtenWorkload != null) {
+            phaseTimeCSVWriter.addValue(writtenWorkload.systemIteration);
+            phaseTimeCSVWriter.addValue(writtenWorkload.interactionSize);
+            phaseTimeCSVWriter.addValue(writtenWorkload.interactionCount);
+        } else {
+            phaseTimeCSVWriter.addValue(-1);
+            phaseTimeCSVWriter.addValue(-1);
+            phaseTimeCSVWriter.addValue(-1);
+        }
+        phaseTimeCSVWriter.addValue(writtenPhase);
+        phaseTimeCSVWriter.addValue(writtenPhaseTimer.getTime(writtenPhase) / 1_000_000);
+    }
 
-        if ("null".equals(results[2])) {
-            foundInteractions = null;
+    private void saveSample(SolutionList sample) throws IOException {
+        if (binarySample) {
+            new BinarySampleFormat().write(sample, samplePath);
         } else {
-            foundInteractions = new ArrayList<>(results.length - 2);
-            for (int i = 2; i < results.length; i++) {
-                foundInteractions.add(InteractionFinderRunner.parseLiteralList(results[i]));
-            }
+            IO.save(sample, samplePath, new ListFormat());
         }
     }
 
-    private static String encodeLiterals(List<LiteralList> literalLists) {
+    static String encodeLiterals(List<LiteralList> literalLists) {
         StringBuilder sb = new StringBuilder();
         for (LiteralList literalList : literalLists) {
             if (!literalList.isEmpty()) {
@@ -357,18 +620,6 @@ public class FindingPhase implements EvaluationPhase {
         return sb.toString();
     }
 
-    private boolean readModel(final ModelReader<Formula> mr) {
-        model = mr.read(interactionFinderEvaluator.getSystemName())
-                .map(ModelRepresentation::new)
-                .orElse(Logger::logProblems);
-        if (model == null) {
-            Logger.logError("Could not read file " + interactionFinderEvaluator.getSystemName());
-            return false;
-        }
-        model.get(CNFProvider.fromFormula());
-        return true;
-    }
-
     protected void prepareAlgorithms() {
         algorithmNameList = new ArrayList<>();
         algorithmIndex = 0;
@@ -383,10 +634,30 @@ public class FindingPhase implements EvaluationPhase {
     protected void writeModel(CSVWriter modelCSVWriter) {
         modelCSVWriter.addValue(interactionFinderEvaluator.getSystemID());
         modelCSVWriter.addValue(interactionFinderEvaluator.getSystemName());
-        Formula cnf = model.get(CNF.fromFormula());
-        modelCSVWriter.addValue(cnf.getVariableMap().get().getVariableCount());
-        modelCSVWriter.addValue(coreDead.size());
-        modelCSVWriter.addValue(cnf.getNumberOfChildren());
+        modelCSVWriter.addValue(variableCount);
+        modelCSVWriter.addValue(coreCount);
+        modelCSVWriter.addValue(clauseCount);
+        modelCSVWriter.addValue(migStatistics.getMIGCount());
+        modelCSVWriter.addValue(migStatistics.getSATCount());
+        long timeSaved = migStatistics.getTimeSaved();
+        modelCSVWriter.addValue(timeSaved < 0 ? -1 : timeSaved / 1_000_000);
+        if (completionCache != null) {
+            modelCSVWriter.addValue(completionCache.getHitCount());
+            modelCSVWriter.addValue(completionCache.getMissCount());
+            long cacheTimeSaved = completionCache.getTimeSaved();
+            modelCSVWriter.addValue(cacheTimeSaved < 0 ? -1 : cacheTimeSaved / 1_000_000);
+        } else {
+            modelCSVWriter.addValue(-1);
+            modelCSVWriter.addValue(-1);
+            modelCSVWriter.addValue(-1);
+        }
+        modelCSVWriter.addValue(versionChange != null ? versionChange : "");
+        modelCSVWriter.addValue(versionChange != null ? reusedWorkloadCount : -1);
+        // reused workloads differ from the workloads a sweep without reuse generates
+        modelCSVWriter.addValue(versionChange == null || reusedWorkloadCount == 0);
+        for (PhaseTimer.Phase phase : PhaseTimer.Phase.values()) {
+            modelCSVWriter.addValue(totalPhaseTimer.getTime(phase) / 1_000_000);
+        }
     }
 
     protected void writeAlgorithm(CSVWriter algorithmCSVWriter) {
@@ -395,51 +666,57 @@ public class FindingPhase implements EvaluationPhase {
     }
 
     protected void writeRunData(CSVWriter dataCSVWriter) {
-        dataCSVWriter.addValue(interactionFinderEvaluator.getSystemID());
-        dataCSVWriter.addValue(interactionFinderEvaluator.systemIteration);
-        dataCSVWriter.addValue(algorithmIndex);
-        dataCSVWriter.addValue(algorithmIteration);
+        final RunRecord r = writtenRecord;
+        if (r.reusedRow != null) {
+            writeReusedRunData(dataCSVWriter, r);
+            return;
+        }
+        dataCSVWriter.addValue(r.systemID);
+        dataCSVWriter.addValue(r.systemIteration);
+        dataCSVWriter.addValue(r.algorithmIndex);
+        dataCSVWriter.addValue(r.algorithmIteration);
 
-        dataCSVWriter.addValue(t);
-        dataCSVWriter.addValue(interactionSize);
+        dataCSVWriter.addValue(r.t);
+        dataCSVWriter.addValue(r.interactionSize);
         // dataCSVWriter.addValue(interactionCount);
-        dataCSVWriter.addValue(str(faultyInteractions));
-        dataCSVWriter.addValue(str(faultyInteractionsUpdated));
+        dataCSVWriter.addValue(str(r.faultyInteractions));
+        dataCSVWriter.addValue(str(r.faultyInteractionsUpdated));
         // dataCSVWriter.addValue(fpNoise);
         // dataCSVWriter.addValue(fnNoise);
-        // dataCSVWriter.addValue(configVerificationLimit);
-        // dataCSVWriter.addValue(configCreationLimit);
+        dataCSVWriter.addValue(r.verificationLimit);
+        dataCSVWriter.addValue(r.creationLimit);
 
         // dataCSVWriter.addValue(str(foundInteractions));
         // dataCSVWriter.addValue(str(foundInteractionsUpdated));
-        if (foundInteractions != null) {
-            dataCSVWriter.addValue(foundInteractions.size());
-            dataCSVWriter.addValue(str(foundInteractionsMergedAndUpdated));
+        dataCSVWriter.addValue(r.status);
+        if (r.foundInteractions != null) {
+            dataCSVWriter.addValue(r.foundInteractions.size());
+            dataCSVWriter.addValue(str(r.foundInteractionsMergedAndUpdated));
             dataCSVWriter.addValue(
-                    faultyInteractionsUpdated.get(0).containsAll(foundInteractionsMergedAndUpdated) ? "T" : "F");
+                    r.faultyInteractionsUpdated.get(0).containsAll(r.foundInteractionsMergedAndUpdated) ? "T" : "F");
             dataCSVWriter.addValue(
-                    foundInteractionsMergedAndUpdated.containsAll(faultyInteractionsUpdated.get(0)) ? "T" : "F");
-            dataCSVWriter.addValue(foundInteractionsMerged.containsAll(faultyInteractions.get(0)) ? "T" : "F");
-            dataCSVWriter.addValue(faultyInteractions.get(0).containsAll(foundInteractionsMerged) ? "T" : "F");
+                    r.foundInteractionsMergedAndUpdated.containsAll(r.faultyInteractionsUpdated.get(0)) ? "T" : "F");
+            dataCSVWriter.addValue(r.foundInteractionsMerged.containsAll(r.faultyInteractions.get(0)) ? "T" : "F");
+            dataCSVWriter.addValue(r.faultyInteractions.get(0).containsAll(r.foundInteractionsMerged) ? "T" : "F");
             dataCSVWriter.addValue(
-                    foundInteractions.stream().anyMatch(i -> i.containsAll(faultyInteractions.get(0))) ? "T" : "F");
+                    r.foundInteractions.stream().anyMatch(i -> i.containsAll(r.faultyInteractions.get(0))) ? "T" : "F");
             dataCSVWriter.addValue(
-                    foundInteractions.stream()
-                                    .anyMatch(i -> faultyInteractions.get(0).containsAll(i))
+                    r.foundInteractions.stream()
+                                    .anyMatch(i -> r.faultyInteractions.get(0).containsAll(i))
                             ? "T"
                             : "F");
 
-            dataCSVWriter.addValue(foundInteractionsMergedAndUpdated.countNonNull());
-            dataCSVWriter.addValue(faultyInteractionsUpdated
+            dataCSVWriter.addValue(r.foundInteractionsMergedAndUpdated.countNonNull());
+            dataCSVWriter.addValue(r.faultyInteractionsUpdated
                     .get(0)
-                    .retainAll(foundInteractionsMergedAndUpdated)
+                    .retainAll(r.foundInteractionsMergedAndUpdated)
                     .countNonNull());
-            dataCSVWriter.addValue(faultyInteractionsUpdated
+            dataCSVWriter.addValue(r.faultyInteractionsUpdated
                     .get(0)
-                    .removeAll(foundInteractionsMergedAndUpdated)
+                    .removeAll(r.foundInteractionsMergedAndUpdated)
                     .countNonNull());
-            dataCSVWriter.addValue(foundInteractionsMergedAndUpdated
-                    .removeAll(faultyInteractionsUpdated.get(0))
+            dataCSVWriter.addValue(r.foundInteractionsMergedAndUpdated
+                    .removeAll(r.faultyInteractionsUpdated.get(0))
                     .countNonNull());
         } else {
             dataCSVWriter.addValue(-1);
@@ -455,9 +732,413 @@ public class FindingPhase implements EvaluationPhase {
             dataCSVWriter.addValue(-1);
             dataCSVWriter.addValue(-1);
         }
-        dataCSVWriter.addValue(verificationCounter);
-        dataCSVWriter.addValue(creationCounter);
-        dataCSVWriter.addValue(elapsedTimeInMS);
+        dataCSVWriter.addValue(r.verificationCounter);
+        dataCSVWriter.addValue(r.creationCounter);
+        dataCSVWriter.addValue(r.elapsedTimeInMS);
+        dataCSVWriter.addValue(r.heapSize);
+        dataCSVWriter.addValue(r.peakHeapUsage < 0 ? -1 : r.peakHeapUsage / (1024 * 1024));
+        dataCSVWriter.addValue(r.startupTimeInMS);
+        dataCSVWriter.addValue(r.cds ? "T" : "F");
+        dataCSVWriter.addValue(r.cachedVerificationCounter);
+        dataCSVWriter.addValue(r.cumulativeVerificationCounter);
+        dataCSVWriter.addValue(r.cumulativeTimeInMS);
+        dataCSVWriter.addValue(r.winner != null ? r.winner : "null");
+        dataCSVWriter.addValue(r.runKey);
+    }
+
+    private void writeReusedRunData(CSVWriter dataCSVWriter, RunRecord r) {
+        dataCSVWriter.addValue(r.systemID);
+        dataCSVWriter.addValue(r.systemIteration);
+        dataCSVWriter.addValue(r.algorithmIndex);
+        dataCSVWriter.addValue(r.algorithmIteration);
+        for (int i = 4; i < RUN_DATA_COLUMNS.length; i++) {
+            dataCSVWriter.addValue(r.reusedRow.getOrDefault(RUN_DATA_COLUMNS[i], "-1"));
+        }
+    }
+
+    private void fillRunRecord(RunRecord record, PreparedSystem system) {
+        record.system = system;
+        record.systemID = interactionFinderEvaluator.getSystemID();
+        record.systemIteration = interactionFinderEvaluator.systemIteration;
+        record.algorithmIndex = algorithmIndex;
+        record.algorithmIteration = algorithmIteration;
+        record.t = t;
+        record.interactionSize = interactionSize;
+        record.verificationLimit = verificationLimit;
+        record.creationLimit = creationLimit;
+        record.faultyInteractions = faultyInteractions;
+        record.faultyInteractionsUpdated = faultyInteractionsUpdated;
+        record.cds = cdsArchive != null;
+    }
+
+    private void submitRunRecord(RunRecord record) {
+        try {
+            runPipeline.submit(record);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            Logger.logError(e);
+        }
+    }
+
+    private void flushRunPipeline() {
+        try {
+            runPipeline.flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            Logger.logError(e);
+        }
+    }
+
+    /**
+     * Waits for the runner of a run, then merges and completes the found
+     * interactions. Runs on the post-processing threads. If the runner, the
+     * result file, or the post-processing fails, the run is written with status
+     * {@link RunResult.Status#Failed}. Unlike a failure while starting a run,
+     * this does not skip the remaining runs of the algorithm, as these have
+     * usually been started already.
+     *
+     * @param record the run
+     */
+    private void evaluateRunRecord(RunRecord record) {
+        if (record.reusedRow != null) {
+            return;
+        }
+        try {
+            try {
+                setResult(record, record.output.join());
+            } catch (Exception e) {
+                Logger.logError(e);
+                record.heapSize = -1;
+                setResult(record, new RunResult());
+            }
+            if (record.foundInteractions != null) {
+                postProcess(record);
+            }
+        } finally {
+            monitor.finishRun(
+                    record.monitorID, record.algorithmName, record.systemName, record.elapsedTimeInMS, record.status);
+        }
+    }
+
+    private void postProcess(RunRecord record) {
+        try {
+            // same seed for all runs of a system iteration, so that equal partial configurations get equal
+            // completions and can be taken from the completion cache
+            final long seed = interactionFinderEvaluator.randomSeed.getValue() + record.systemIteration;
+            record.foundInteractionsMerged = LiteralList.merge(record.foundInteractions);
+            final long startTime = System.nanoTime();
+            record.foundInteractionsMergedAndUpdated = record.system
+                    .updateGlobally(record.foundInteractionsMerged, seed)
+                    .orElse(null);
+            record.phaseTimer.stop(PhaseTimer.Phase.InteractionUpdate, startTime);
+        } catch (Exception e) {
+            Logger.logError(e);
+            record.status = RunResult.Status.Failed;
+            record.foundInteractions = null;
+        }
+    }
+
+    private void writeRunRecord(RunRecord record) {
+        writtenRecord = record;
+        runDataWriter.writeLine();
+        writtenRecord = null;
+    }
+
+    private String getRunKey(PreparedSystem system) {
+        return RunKey.of(
+                system.modelKey,
+                interactionFinderEvaluator.randomSeed.getValue(),
+                interactionFinderEvaluator.systemIteration,
+                interactionSize,
+                interactionCount,
+                workloadKey,
+                workloadReused,
+                interactionFinderEvaluator.versionReuseProperty.getValue(),
+                encodeLiterals(List.of(coreDead)),
+                fpNoise,
+                fnNoise,
+                verificationLimit,
+                creationLimit,
+                interactionFinderEvaluator.oracleLatencyProperty.getValue(),
+                interactionFinderEvaluator.verifierCommandProperty.getValue(),
+                interactionFinderEvaluator.verifierThreadsProperty.getValue(),
+                interactionFinderEvaluator.verifierTimeoutProperty.getValue(),
+                algorithmNameList.get(algorithmIndex),
+                t,
+                algorithmIteration,
+                runnerKey,
+                interactionFinderEvaluator.migProperty.getValue(),
+                interactionFinderEvaluator.generatorThreadsProperty.getValue(),
+                interactionFinderEvaluator.completionCacheSizeProperty.getValue(),
+                interactionFinderEvaluator.runTimeoutProperty.getValue(),
+                interactionFinderEvaluator.memoryProperty.getValue(),
+                interactionFinderEvaluator.minMemoryProperty.getValue(),
+                interactionFinderEvaluator.adaptiveMemoryProperty.getValue(),
+                getRunVariant());
+    }
+
+    /**
+     * @return a description of the runner options that change the measured
+     *         times, empty for the default options
+     */
+    private String getRunVariant() {
+        String variant = interactionFinderEvaluator.incrementalTProperty.getValue() ? "incremental" : "";
+        if (!interactionFinderEvaluator.cdsProperty.getValue()) {
+            variant += "nocds";
+        }
+        if (interactionFinderEvaluator.jfrProperty.getValue()) {
+            variant += "jfr";
+        }
+        return binarySample ? variant + "binary" : variant;
+    }
+
+    private long getRunsPerSystem() {
+        return (long) interactionFinderEvaluator.systemIterations.getValue() * cells.size();
+    }
+
+    private PreparedSystem prepareSystem(int systemIndex) {
+        String systemName = interactionFinderEvaluator.systemNames.get(systemIndex);
+        PreparedSystem system = new PreparedSystem(systemIndex, systemName);
+
+        final ModelReader<Formula> mr = new ModelReader<>();
+        long startTime = System.nanoTime();
+        if (SyntheticModelGenerator.isSyntheticName(systemName)) {
+            Path syntheticModelPath = interactionFinderEvaluator.tempPath.resolve("synthetic");
+            try {
+                SyntheticModelGenerator.generate(systemName, syntheticModelPath);
+            } catch (IOException | IllegalArgumentException e) {
+                Logger.logError(e);
+                return system;
+            }
+            mr.setPathToFiles(syntheticModelPath);
+        } else {
+            mr.setPathToFiles(interactionFinderEvaluator.modelPath);
+        }
+        mr.setFormatSupplier(FormulaFormatManager.getInstance());
+        ModelRepresentation model = mr.read(systemName).map(ModelRepresentation::new).orElse(Logger::logProblems);
+        system.phaseTimer.stop(PhaseTimer.Phase.ModelRead, startTime);
+        if (model == null) {
+            Logger.logError("Could not read file " + systemName);
+            return system;
+        }
+        startTime = System.nanoTime();
+        model.get(CNFProvider.fromFormula());
+        system.model = model;
+
+        Formula cnf = model.get(CNF.fromFormula());
+        system.variableCount = cnf.getVariableMap().get().getVariableCount();
+        system.clauseCount = cnf.getNumberOfChildren();
+        system.phaseTimer.stop(PhaseTimer.Phase.CNF, startTime);
+        startTime = System.nanoTime();
+        if (modelHistory != null) {
+            system.versionDiff = modelHistory.add(systemName, model.get(CNFProvider.fromFormula()));
+        }
+        // the MIG may be incomplete, so it is only used for completion and not for the core and dead literals
+        system.coreDead = getCoreDead(model, system.versionDiff);
+        if (interactionFinderEvaluator.migProperty.getValue()) {
+            MIG mig = model.get(MIGProvider.fromFormula(false, true));
+            LiteralList coreDead = system.coreDead;
+            system.globalUpdaterFactory =
+                    random -> MIGConfigurationUpdater.create(model, mig, coreDead, random, system.migStatistics);
+            system.workloadUpdater =
+                    MIGConfigurationUpdater.create(model, mig, coreDead, new Random(0), system.migStatistics);
+        } else {
+            system.globalUpdaterFactory = random -> new RandomConfigurationUpdater(model, random);
+            system.workloadUpdater = new RandomConfigurationUpdater(model, new Random(0));
+        }
+        if (system.versionDiff != null) {
+            system.versionDiff.setCoreDead(system.coreDead);
+        }
+        system.coreCount = system.coreDead.size();
+        system.phaseTimer.stop(PhaseTimer.Phase.CoreDead, startTime);
+
+        startTime = System.nanoTime();
+        int completionCacheSize = interactionFinderEvaluator.completionCacheSizeProperty.getValue();
+        if (completionCacheSize > 0) {
+            system.completionCache = new CompletionCache(completionCacheSize);
+        }
+
+        Path dimacsPath = interactionFinderEvaluator.tempPath.resolve("model_" + systemIndex + ".dimacs");
+        try {
+            IO.save(cnf, dimacsPath, new DIMACSFormat());
+        } catch (IOException e) {
+            Logger.logError(e);
+            return system;
+        }
+        try {
+            system.modelKey = RunKey.of(dimacsPath);
+        } catch (IOException e) {
+            Logger.logError(e);
+            return system;
+        }
+        system.dimacsPath = dimacsPath;
+        system.phaseTimer.stop(PhaseTimer.Phase.DIMACSExport, startTime);
+
+        if (interactionFinderEvaluator.systemIterations.getValue() > 0) {
+            for (SweepCell cell : cells) {
+                getOrCreateWorkload(system, 1, cell);
+            }
+        }
+        return system;
+    }
+
+    /**
+     * Computes the core and dead variables of a model. If the previous version
+     * of the model is known, only the variables that can have changed are
+     * checked.
+     *
+     * @param model the model
+     * @param diff the comparison to the previous version or {@code null}
+     * @return the core and dead literals
+     */
+    private LiteralList getCoreDead(ModelRepresentation model, ModelHistory.Diff diff) {
+        final LiteralList previousCoreDead = diff != null ? diff.getPreviousCoreDead() : null;
+        if (previousCoreDead == null) {
+            return model.get(new CoreDeadAnalysis());
+        }
+        switch (diff.getChange()) {
+            case Identical:
+                return previousCoreDead;
+            case ConstraintsRemoved:
+                if (previousCoreDead.isEmpty()) {
+                    return previousCoreDead;
+                }
+                final int[] candidateVariables = Arrays.stream(previousCoreDead.getLiterals())
+                        .map(Math::abs)
+                        .toArray();
+                return model.get(new CoreDeadAnalysis(new LiteralList(candidateVariables)));
+            case ConstraintsAdded:
+                final int variableCount =
+                        model.get(CNFProvider.fromFormula()).getVariableMap().getVariableCount();
+                final int[] otherVariables = IntStream.rangeClosed(1, variableCount)
+                        .filter(v -> !previousCoreDead.containsAnyVariable(v))
+                        .toArray();
+                if (otherVariables.length == 0) {
+                    return previousCoreDead;
+                }
+                final LiteralList newCoreDead = model.get(new CoreDeadAnalysis(new LiteralList(otherVariables)));
+                return LiteralList.merge(List.of(previousCoreDead, newCoreDead));
+            default:
+                return model.get(new CoreDeadAnalysis());
+        }
+    }
+
+    /**
+     * Returns the workload for a system iteration and cell. The workload is
+     * taken from the system, the previous version of the system, or created.
+     *
+     * @param system the system
+     * @param systemIteration the system iteration
+     * @param cell the cell
+     * @return the workload
+     */
+    private Workload getOrCreateWorkload(PreparedSystem system, int systemIteration, SweepCell cell) {
+        Workload workload = system.getWorkload(systemIteration, cell);
+        if (workload != null) {
+            return workload;
+        }
+        if (system.versionDiff != null) {
+            workload = system.versionDiff.getPreviousWorkload(systemIteration, cell);
+            if (workload != null) {
+                system.reusedWorkloadCount++;
+            }
+        }
+        if (workload == null) {
+            workload = createWorkload(system, systemIteration, cell.interactionSize, cell.interactionCount);
+        }
+        if (system.versionDiff != null) {
+            system.versionDiff.addWorkload(workload);
+        }
+        system.workloads.add(workload);
+        return workload;
+    }
+
+    private Workload createWorkload(
+            PreparedSystem system, int systemIteration, int interactionSize, int interactionCount) {
+        long startTime = System.nanoTime();
+        List<LiteralList> faultyConfigs;
+        if (configGenerator != null) {
+            faultyConfigs = configGenerator.generate(
+                    system.model.get(CNF.fromFormula()),
+                    interactionFinderEvaluator.randomSeed.getValue() + systemIteration,
+                    interactionCount);
+        } else {
+            Random random1 = new Random(interactionFinderEvaluator.randomSeed.getValue() + systemIteration);
+            faultyConfigs = system.model
+                    .getResult(getConfigGenerator(random1, interactionCount))
+                    .map(SolutionList::getSolutions)
+                    .orElse(Logger::logProblems);
+        }
+        if (faultyConfigs == null) {
+            throw new RuntimeException();
+        }
+        long configGenerationTime = System.nanoTime() - startTime;
+
+        Random random2 = new Random(interactionFinderEvaluator.randomSeed.getValue() + systemIteration);
+        List<LiteralList> faultyInteractions = faultyConfigs.stream()
+                .map(c -> new LiteralList(Stream.generate(() -> (random2.nextInt(c.size()) + 1)) //
+                        .mapToInt(Integer::intValue) //
+                        .filter(l -> !system.coreDead.containsAnyVariable(l))
+                        .distinct() //
+                        .limit(interactionSize) //
+                        .map(l -> c.get(l - 1)) //
+                        .toArray()))
+                .collect(Collectors.toList());
+        startTime = System.nanoTime();
+        List<LiteralList> faultyInteractionsUpdated = faultyInteractions.stream()
+                .map(system.workloadUpdater::update)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .collect(Collectors.toList());
+        long interactionUpdateTime = System.nanoTime() - startTime;
+        Workload workload = new Workload(
+                systemIteration,
+                interactionSize,
+                interactionCount,
+                faultyConfigs,
+                faultyInteractions,
+                faultyInteractionsUpdated);
+        workload.phaseTimer.add(PhaseTimer.Phase.ConfigGeneration, configGenerationTime);
+        workload.phaseTimer.add(PhaseTimer.Phase.InteractionUpdate, interactionUpdateTime);
+        return workload;
+    }
+
+    private boolean applyWorkload(Workload workload) {
+        interactionSize = workload.interactionSize;
+        interactionCount = workload.interactionCount;
+        faultyConfigs = workload.faultyConfigs;
+        faultyInteractions = workload.faultyInteractions;
+        faultyInteractionsUpdated = workload.faultyInteractionsUpdated;
+        workloadKey = workload.getContentKey();
+        workloadReused = workload.reused;
+        workloadPhaseTimer = workload.phaseTimer;
+        long startTime = System.nanoTime();
+        try {
+            saveSample(new SolutionList(model.getVariables(), faultyConfigs));
+        } catch (IOException e) {
+            Logger.logError(e);
+            return false;
+        } finally {
+            workloadPhaseTimer.stop(PhaseTimer.Phase.SampleExport, startTime);
+        }
+        return true;
+    }
+
+    private void setCell(SweepCell cell) {
+        fpNoise = cell.fpNoise;
+        fnNoise = cell.fnNoise;
+        verificationLimit = cell.verificationLimit;
+        creationLimit = cell.creationLimit;
+        algorithmIndex = cell.algorithmIndex;
+        t = cell.t;
+        algorithmIteration = cell.algorithmIteration;
+    }
+
+    private String getCellKey() {
+        return interactionFinderEvaluator.getSystemName() + "_" + interactionFinderEvaluator.systemIteration + "_"
+                + interactionSize + "_" + interactionCount + "_" + fpNoise + "_" + fnNoise + "_" + verificationLimit
+                + "_" + creationLimit + "_" + algorithmNameList.get(algorithmIndex) + "_" + t + "_"
+                + algorithmIteration;
     }
 
     private void logRun() {
@@ -503,7 +1184,7 @@ public class FindingPhase implements EvaluationPhase {
         return Arrays.toString(interaction.getLiterals());
     }
 
-    private RandomConfigurationGenerator getConfigGenerator(Random random) {
+    private RandomConfigurationGenerator getConfigGenerator(Random random, int interactionCount) {
         RandomConfigurationGenerator generator;
         generator = new FastRandomConfigurationGenerator();
         generator.setTimeout(1_000_000);
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Derives the maximum heap size for a runner process from the size of the
+ * model and from the peak heap usage observed in previous runs on the same
+ * model.
+ */
+public class HeapSizer {
+
+    private static final long MB = 1024 * 1024;
+
+    private static final long BASE_HEAP_SIZE = 256 * MB;
+    private static final long BYTES_PER_CLAUSE = 256;
+    private static final long BYTES_PER_VARIABLE = 4 * 2048;
+    private static final double PEAK_USAGE_FACTOR = 1.5;
+    private static final int RETRY_FACTOR = 2;
+
+    private final Map<String, Long> peakHeapUsages = new ConcurrentHashMap<>();
+    private final int minHeapSize, maxHeapSize;
+
+    /**
+     * @param minHeapSize the lower bound for heap sizes in MB
+     * @param maxHeapSize the upper bound for heap sizes in MB
+     */
+    public HeapSizer(int minHeapSize, int maxHeapSize) {
+        this.minHeapSize = minHeapSize;
+        this.maxHeapSize = Math.max(minHeapSize, maxHeapSize);
+    }
+
+    /**
+     * Estimates the heap size for a run on the given model.
+     *
+     * @param modelName the name of the model
+     * @param variableCount the number of variables in the CNF
+     * @param clauseCount the number of clauses in the CNF
+     * @param coreCount the number of core and dead variables
+     * @return the heap size in MB
+     */
+    public int getHeapSize(String modelName, int variableCount, int clauseCount, int coreCount) {
+        long estimate = BASE_HEAP_SIZE
+                + (clauseCount * BYTES_PER_CLAUSE)
+                + (Math.max(0, variableCount - coreCount) * BYTES_PER_VARIABLE);
+        Long peakHeapUsage = peakHeapUsages.get(modelName);
+        if (peakHeapUsage != null) {
+            estimate = Math.max(estimate, (long) (peakHeapUsage * PEAK_USAGE_FACTOR));
+        }
+        return clamp((estimate + MB - 1) / MB);
+    }
+
+    /**
+     * Increases the heap size for retrying a run that ran out of memory.
+     *
+     * @param heapSize the heap size of the failed run in MB
+     * @return the heap size for the retry in MB
+     */
+    public int getRetryHeapSize(int heapSize) {
+        return clamp((long) heapSize * RETRY_FACTOR);
+    }
+
+    public int getMaxHeapSize() {
+        return maxHeapSize;
+    }
+
+    public void addPeakHeapUsage(String modelName, long peakHeapUsage) {
+        if (peakHeapUsage > 0) {
+            peakHeapUsages.merge(modelName, peakHeapUsage, Math::max);
+        }
+    }
+
+    private int clamp(long heapSize) {
+        return (int) Math.max(minHeapSize, Math.min(maxHeapSize, heapSize));
+    }
+}
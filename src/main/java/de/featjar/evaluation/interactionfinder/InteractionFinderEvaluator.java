@@ -23,10 +23,31 @@ package de.featjar.evaluation.interactionfinder;
 import de.featjar.evaluation.Evaluator;
 import de.featjar.evaluation.properties.ListProperty;
 import de.featjar.evaluation.properties.Property;
+import java.util.List;
 
 public class InteractionFinderEvaluator extends Evaluator {
 
     Property<Integer> memoryProperty = new Property<>("memory", Property.IntegerConverter, 8);
+    Property<Integer> minMemoryProperty = new Property<>("minMemory", Property.IntegerConverter, 512);
+    Property<Boolean> adaptiveMemoryProperty =
+            new Property<>("adaptiveMemory", Property.BooleanConverter, Boolean.FALSE);
+    Property<Long> runTimeoutProperty = new Property<>("runTimeout", Property.LongConverter, 0L);
+    Property<Boolean> jfrProperty = new Property<>("jfr", Property.BooleanConverter, Boolean.FALSE);
+    Property<Integer> postProcessingThreadsProperty =
+            new Property<>("postProcessingThreads", Property.IntegerConverter, 1);
+    Property<Integer> postProcessingQueueProperty =
+            new Property<>("postProcessingQueue", Property.IntegerConverter, 16);
+    Property<Boolean> incrementalTProperty = new Property<>("incrementalT", Property.BooleanConverter, Boolean.FALSE);
+    Property<Boolean> cdsProperty = new Property<>("cds", Property.BooleanConverter, Boolean.TRUE);
+    Property<Boolean> traceProperty = new Property<>("trace", Property.BooleanConverter, Boolean.FALSE);
+    Property<Integer> completionCacheSizeProperty =
+            new Property<>("completionCacheSize", Property.IntegerConverter, 10_000);
+    Property<Integer> coordinatorPortProperty = new Property<>("coordinatorPort", Property.IntegerConverter, 0);
+    Property<Long> heartbeatTimeoutProperty = new Property<>("heartbeatTimeout", Property.LongConverter, 30_000L);
+    Property<Boolean> versionReuseProperty = new Property<>("versionReuse", Property.BooleanConverter, Boolean.FALSE);
+    Property<Integer> prefetchSystemsProperty = new Property<>("prefetchSystems", Property.IntegerConverter, 0);
+    Property<Integer> generatorThreadsProperty = new Property<>("generatorThreads", Property.IntegerConverter, 0);
+    Property<String> sampleFormatProperty = new Property<>("sampleFormat", Property.StringConverter, "list");
     ListProperty<Integer> tProperty = new ListProperty<>("t", Property.IntegerConverter);
     ListProperty<Integer> interactionSizeProperty = new ListProperty<>("interactionSize", Property.IntegerConverter);
     ListProperty<Integer> interactionCountProperty = new ListProperty<>("interactionCount", Property.IntegerConverter);
@@ -36,10 +57,41 @@ public class InteractionFinderEvaluator extends Evaluator {
             new ListProperty<>("configVerificationLimit", Property.IntegerConverter);
     ListProperty<Integer> configCreationLimitProperty =
             new ListProperty<>("configCreationLimit", Property.IntegerConverter);
+    Property<String> oracleLatencyProperty = new Property<>("oracleLatency", Property.StringConverter, "none");
+    ListProperty<String> verifierCommandProperty = new ListProperty<>("verifierCommand", Property.StringConverter);
+    Property<Integer> verifierThreadsProperty = new Property<>("verifierThreads", Property.IntegerConverter, 1);
+    Property<Long> verifierTimeoutProperty = new Property<>("verifierTimeout", Property.LongConverter, 600_000L);
+    Property<Boolean> migProperty = new Property<>("mig", Property.BooleanConverter, false);
+    Property<String> regressionBaselineProperty = new Property<>("regressionBaseline", Property.StringConverter, "");
+    Property<Double> regressionThresholdProperty =
+            new Property<>("regressionThreshold", Property.DoubleConverter, 0.1);
+    Property<Double> regressionAlphaProperty = new Property<>("regressionAlpha", Property.DoubleConverter, 0.05);
+    ListProperty<String> reuseResultsProperty = new ListProperty<>("reuseResults", Property.StringConverter);
     ListProperty<String> algorithmsProperty = new ListProperty<>("algorithm", Property.StringConverter);
+    ListProperty<String> constraintsProperty = new ListProperty<>("constraints", Property.StringConverter);
+    ListProperty<String> deterministicAlgorithmsProperty =
+            new ListProperty<>("deterministicAlgorithms", Property.StringConverter);
+
+    /**
+     * Number of regressions found by {@link RegressionPhase}.
+     */
+    int regressionCount;
 
     @Override
     public String getName() {
         return "interaction-finder";
     }
+
+    /**
+     * Runs the evaluation and terminates with
+     * {@link RegressionPhase#REGRESSION_EXIT_CODE} if a regression was found,
+     * after all phases have run and the evaluation has been cleaned up.
+     */
+    @Override
+    public void run(List<String> args) {
+        super.run(args);
+        if (regressionCount > 0) {
+            System.exit(RegressionPhase.REGRESSION_EXIT_CODE);
+        }
+    }
 }
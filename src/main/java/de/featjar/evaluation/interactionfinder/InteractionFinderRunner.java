@@ -22,6 +22,9 @@ package de.featjar.evaluation.interactionfinder;
 
 import de.featjar.analysis.sat4j.RandomConfigurationUpdater;
 import de.featjar.clauses.LiteralList;
+import de.featjar.clauses.solutions.SolutionList;
+import de.featjar.clauses.solutions.analysis.ConfigurationUpdater;
+import de.featjar.clauses.solutions.analysis.ConfigurationVerifyer;
 import de.featjar.clauses.solutions.analysis.IncInteractionFinder;
 import de.featjar.clauses.solutions.analysis.InteractionFinder;
 import de.featjar.clauses.solutions.analysis.InteractionFinderWrapper;
@@ -30,16 +33,25 @@ import de.featjar.clauses.solutions.analysis.finder.InteractionFinderCombination
 import de.featjar.clauses.solutions.analysis.finder.NaiveRandomInteractionFinder;
 import de.featjar.clauses.solutions.analysis.finder.SingleInteractionFinder;
 import de.featjar.clauses.solutions.io.ListFormat;
+import de.featjar.evaluation.interactionfinder.FinderEvents.RunEvent;
 import de.featjar.formula.ModelRepresentation;
+import de.featjar.formula.io.dimacs.DIMACSFormat;
 import de.featjar.util.extension.ExtensionLoader;
 import de.featjar.util.io.IO;
 import de.featjar.util.logging.Logger;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.IntBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.stream.Collectors;
 
@@ -50,16 +62,41 @@ import java.util.stream.Collectors;
  */
 public class InteractionFinderRunner {
 
+    /**
+     * Result of verifications by an external command that did not finish in
+     * time (i.e., the configuration is considered to fail).
+     */
+    private static final int TIMEOUT_RESULT = 1;
+
+    /**
+     * Argument that runs all algorithms on a small built-in model instead of a
+     * real run. Used to record the classes for the class-data sharing archive.
+     */
+    private static final String TRAINING_ARGUMENT = "--train";
+
+    private static final List<String> ALGORITHM_NAMES = List.of(
+            "NaiveRandom",
+            "IterativeNaiveRandom",
+            "Single",
+            "IterativeSingle",
+            "ForwardBackward",
+            "ForwardBackwardOld",
+            "ForwardBackwardNew");
+
     public static void main(String[] args) throws IOException {
-        ExtensionLoader.load();
+        if (args.length > 0 && TRAINING_ARGUMENT.equals(args[0])) {
+            train();
+        } else {
+            run(args);
+        }
+        System.exit(0);
+    }
 
-        ModelRepresentation model = ModelRepresentation.load(Paths.get(args[0])).orElse(Logger::logProblems);
-        List<LiteralList> sample = IO.load(Paths.get(args[1]), new ListFormat())
-                .orElse(Logger::logProblems)
-                .getSolutions();
+    private static void run(String[] args) throws IOException {
+        ModelRepresentation model = loadModel(Paths.get(args[0]));
+        List<LiteralList> sample = loadSample(Paths.get(args[1]));
         Path outputPath = Paths.get(args[2]);
-        InteractionFinder algorithm = parseAlgorithm(args[3]);
-        int t = Integer.parseInt(args[4]);
+        int[] tValues = Arrays.stream(args[4].split(";")).mapToInt(Integer::parseInt).toArray();
         LiteralList core = parseLiteralList(args[5]);
         Long seed = Long.parseLong(args[6]);
 
@@ -69,40 +106,224 @@ public class InteractionFinderRunner {
 
         Double fpNoise = Double.parseDouble(args[8]);
         Double fnNoise = Double.parseDouble(args[9]);
+        int verificationLimit = Integer.parseInt(getArgument(args, 10, String.valueOf(Integer.MAX_VALUE)));
+        int creationLimit = Integer.parseInt(getArgument(args, 11, String.valueOf(Integer.MAX_VALUE)));
+        VerificationLatency latency = VerificationLatency.parse(getArgument(args, 12, "none"));
+        int verifierThreadCount = Integer.parseInt(getArgument(args, 13, "1"));
+        long verifierTimeout = Long.parseLong(getArgument(args, 14, String.valueOf(Long.MAX_VALUE)));
+        String cellKey = getArgument(args, 15, "");
+        String tracePath = getArgument(args, 16, "null");
+        // the remaining arguments are the verifier command and its arguments
+        List<String> verifierCommand = args.length > 17 ? Arrays.asList(args).subList(17, args.length) : List.of();
+
+        ConfigurationVerifyer oracle = verifierCommand.isEmpty()
+                ? new ConfigurationOracle(interactions, fpNoise, fnNoise, latency)
+                : new ExternalCommandVerifyer(
+                        verifierCommand,
+                        verifierThreadCount,
+                        verifierTimeout,
+                        TIMEOUT_RESULT);
+        ConfigurationVerifyer recordedOracle = RecordingDecorators.recordVerifier(oracle);
+        Random updaterRandom = new Random(seed);
+        ConfigurationUpdater updater =
+                RecordingDecorators.recordUpdater(new RandomConfigurationUpdater(model, updaterRandom));
+        VerificationTrace.Writer trace = null;
+        if (!"null".equals(tracePath)) {
+            if (args[3].startsWith(PortfolioInteractionFinder.PREFIX)) {
+                Logger.logError("Traces are not supported for portfolios");
+            } else if (tValues.length == 1) {
+                trace = new VerificationTrace.Writer(
+                        Paths.get(tracePath), args[3], tValues[0], verificationLimit, creationLimit, core, sample);
+                recordedOracle = trace.recordVerifier(recordedOracle);
+                updater = trace.recordUpdater(updater);
+            } else {
+                Logger.logError("Traces are not supported for multiple t values");
+            }
+        }
+        CachingConfigurationVerifyer cache = null;
+        if (tValues.length > 1) {
+            cache = new CachingConfigurationVerifyer(recordedOracle);
+            recordedOracle = cache;
+        }
+
+        // the JVM is started once per session, so only the first t pays for the startup
+        long startupTimeInMS = ManagementFactory.getRuntimeMXBean().getUptime();
+        int cumulativeVerificationCounter = 0;
+        long cumulativeTimeInMS = 0;
+        List<LiteralList> configurations = sample;
+        for (int t : tValues) {
+            // each t creates the same configurations as a separate run with the same seed
+            updaterRandom.setSeed(seed);
+            InteractionFinder algorithm = parseAlgorithm(args[3]);
+            PartialResultVerifyer partialResult = new PartialResultVerifyer(recordedOracle);
+            LimitedConfigurationVerifyer verifier = new LimitedConfigurationVerifyer(partialResult, verificationLimit);
+            int hitCounter = cache == null ? 0 : cache.getHitCounter();
+
+            algorithm.reset();
+            algorithm.setCore(core);
+            algorithm.setVerifier(verifier);
+            LimitedConfigurationUpdater limitedUpdater = new LimitedConfigurationUpdater(updater, creationLimit);
+            algorithm.setUpdater(limitedUpdater);
+            algorithm.addConfigurations(configurations);
+
+            RunResult result = new RunResult();
+            result.startupTimeInMS = startupTimeInMS;
+            startupTimeInMS = 0;
+            resetPeakHeapUsage();
+            RunEvent runEvent = new RunEvent();
+            runEvent.begin();
+            long startTime = System.nanoTime();
+            try {
+                result.foundInteractions = algorithm.find(t);
+                result.status = RunResult.Status.Completed;
+            } catch (BudgetExhaustedException e) {
+                List<LiteralList> candidates = partialResult.getCandidates(core);
+                result.foundInteractions = candidates.isEmpty() ? null : candidates;
+                result.status = e.getStatus();
+            }
+            long endTime = System.nanoTime();
+            runEvent.end();
+
+            //        List<Statistic> statistics = algorithm.getStatistics();
+            //        Statistic lastStatistic = statistics.get(statistics.size() - 1);
+            result.elapsedTimeInMS = (endTime - startTime) / 1_000_000;
+            result.verificationCounter = result.status == RunResult.Status.Completed
+                    ? algorithm.getVerifyCounter()
+                    : verifier.getCounter();
+            result.creationCounter = limitedUpdater.getCounter();
+            result.peakHeapUsage = getPeakHeapUsage();
+            result.cachedVerificationCounter = cache == null ? 0 : cache.getHitCounter() - hitCounter;
+            cumulativeVerificationCounter += result.verificationCounter - result.cachedVerificationCounter;
+            cumulativeTimeInMS += result.elapsedTimeInMS;
+            result.cumulativeVerificationCounter = cumulativeVerificationCounter;
+            result.cumulativeTimeInMS = cumulativeTimeInMS;
+            if (algorithm instanceof PortfolioInteractionFinder) {
+                result.winner = ((PortfolioInteractionFinder) algorithm).getWinner();
+            }
+            if (runEvent.shouldCommit()) {
+                runEvent.cellKey = cellKey;
+                runEvent.algorithm = args[3];
+                runEvent.t = t;
+                runEvent.status = result.status.name();
+                runEvent.verificationCount = result.verificationCounter;
+                runEvent.creationCount = result.creationCounter;
+                runEvent.commit();
+            }
+            result.write(tValues.length == 1 ? outputPath : RunResult.getPath(outputPath, t));
+            if (cache != null) {
+                configurations = addFailingConfigurations(sample, cache.getFailingConfigurations());
+            }
+        }
+        if (trace != null) {
+            trace.close();
+        }
+        if (oracle instanceof ExternalCommandVerifyer) {
+            ((ExternalCommandVerifyer) oracle).close();
+        }
+    }
+
+    private static void train() throws IOException {
+        Path trainingPath = Files.createTempDirectory("runner-training");
+        Path modelPath = trainingPath.resolve("model.dimacs");
+        Files.writeString(modelPath, "p cnf 6 3\n1 0\n2 3 0\n-4 5 6 0\n");
+        ModelRepresentation model = loadModel(modelPath);
+        RandomConfigurationUpdater updater = new RandomConfigurationUpdater(model, new Random(0));
+        List<LiteralList> configurations = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            updater.update(new LiteralList()).ifPresent(configurations::add);
+        }
+        SolutionList sample = new SolutionList(model.getVariables(), configurations);
+        Path listSamplePath = trainingPath.resolve("sample.csv");
+        Path binarySamplePath = trainingPath.resolve("sample." + BinarySampleFormat.FILE_EXTENSION);
+        IO.save(sample, listSamplePath, new ListFormat());
+        new BinarySampleFormat().write(sample, binarySamplePath);
 
-        algorithm.reset();
-        algorithm.setCore(core);
-        algorithm.setVerifier(new ConfigurationOracle(interactions, fpNoise, fnNoise));
-        algorithm.setUpdater(new RandomConfigurationUpdater(model, new Random(seed)));
-        algorithm.addConfigurations(sample);
-
-        long startTime = System.nanoTime();
-        List<LiteralList> foundInteractions = algorithm.find(t);
-        long endTime = System.nanoTime();
-
-        //        List<Statistic> statistics = algorithm.getStatistics();
-        //        Statistic lastStatistic = statistics.get(statistics.size() - 1);
-        long elapsedTimeInMS = (endTime - startTime) / 1_000_000;
-
-        StringBuilder sb = new StringBuilder();
-        sb.append(elapsedTimeInMS);
-        sb.append("\n");
-        sb.append(algorithm.getVerifyCounter());
-        sb.append("\n");
-        if (foundInteractions != null) {
-            for (LiteralList foundInteraction : foundInteractions) {
-                for (int l : foundInteraction.getLiterals()) {
-                    sb.append(l);
-                    sb.append(";");
+        for (String algorithmName : ALGORITHM_NAMES) {
+            for (Path samplePath : List.of(listSamplePath, binarySamplePath)) {
+                try {
+                    run(new String[] {
+                        modelPath.toString(),
+                        samplePath.toString(),
+                        trainingPath.resolve("output").toString(),
+                        algorithmName,
+                        "2",
+                        "1",
+                        "0",
+                        "2;-4",
+                        "0.0",
+                        "0.0"
+                    });
+                } catch (Exception e) {
+                    Logger.logError(e);
                 }
-                sb.replace(sb.length() - 1, sb.length(), "\n");
             }
-            sb.delete(sb.length() - 1, sb.length());
-        } else {
-            sb.append("null");
         }
-        Files.writeString(outputPath, sb.toString());
-        System.exit(0);
+    }
+
+    /**
+     * Loads DIMACS files directly, so that the extensions do not need to be
+     * loaded. Other formats are read via the format extensions.
+     *
+     * @param modelPath the path to the model
+     * @return the model
+     */
+    static ModelRepresentation loadModel(Path modelPath) {
+        DIMACSFormat dimacsFormat = new DIMACSFormat();
+        if (modelPath.getFileName().toString().endsWith("." + dimacsFormat.getFileExtension())) {
+            return IO.load(modelPath, dimacsFormat).map(ModelRepresentation::new).orElse(Logger::logProblems);
+        }
+        ExtensionLoader.load();
+        return ModelRepresentation.load(modelPath).orElse(Logger::logProblems);
+    }
+
+    private static String getArgument(String[] args, int index, String defaultValue) {
+        return args.length > index ? args[index] : defaultValue;
+    }
+
+    /**
+     * Extends the sample of an incremental run with the failing configurations
+     * that were verified for the previous t values.
+     *
+     * @param sample the initial sample
+     * @param failingConfigurations the verified failing configurations
+     * @return the sample followed by all failing configurations that it does
+     *         not contain yet
+     */
+    private static List<LiteralList> addFailingConfigurations(
+            List<LiteralList> sample, List<LiteralList> failingConfigurations) {
+        final Map<IntBuffer, LiteralList> configurations = new LinkedHashMap<>();
+        for (LiteralList configuration : sample) {
+            configurations.putIfAbsent(IntBuffer.wrap(configuration.getLiterals()), configuration);
+        }
+        for (LiteralList configuration : failingConfigurations) {
+            configurations.putIfAbsent(IntBuffer.wrap(configuration.getLiterals()), configuration);
+        }
+        return new ArrayList<>(configurations.values());
+    }
+
+    private static void resetPeakHeapUsage() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long getPeakHeapUsage() {
+        long peakHeapUsage = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peakHeapUsage += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peakHeapUsage;
+    }
+
+    private static List<LiteralList> loadSample(Path samplePath) throws IOException {
+        if (samplePath.getFileName().toString().endsWith("." + BinarySampleFormat.FILE_EXTENSION)) {
+            return new BinarySampleFormat().read(samplePath);
+        }
+        return IO.load(samplePath, new ListFormat()).orElse(Logger::logProblems).getSolutions();
     }
 
     public static LiteralList parseLiteralList(String arg) {
@@ -113,7 +334,20 @@ public class InteractionFinderRunner {
                         .toArray());
     }
 
-    private static InteractionFinder parseAlgorithm(String algorithm) {
+    static InteractionFinder parseAlgorithm(String algorithm) {
+        if (algorithm.startsWith(PortfolioInteractionFinder.PREFIX)) {
+            List<String> names = Arrays.asList(
+                    algorithm.substring(PortfolioInteractionFinder.PREFIX.length()).split("\\+"));
+            List<InteractionFinder> finders = new ArrayList<>(names.size());
+            for (String name : names) {
+                InteractionFinder finder = parseAlgorithm(name);
+                if (finder == null) {
+                    return null;
+                }
+                finders.add(finder);
+            }
+            return new PortfolioInteractionFinder(names, finders);
+        }
         switch (algorithm) {
             case "NaiveRandom":
                 return new InteractionFinderWrapper(new NaiveRandomInteractionFinder(), true, false);
@@ -0,0 +1,444 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.featjar.analysis.sat4j.CoreDeadAnalysis;
+import de.featjar.analysis.sat4j.RandomConfigurationUpdater;
+import de.featjar.clauses.LiteralList;
+import de.featjar.clauses.solutions.analysis.ConfigurationUpdater;
+import de.featjar.clauses.solutions.analysis.ConfigurationVerifyer;
+import de.featjar.clauses.solutions.analysis.InteractionFinder;
+import de.featjar.formula.ModelRepresentation;
+import de.featjar.util.logging.Logger;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Local HTTP service that localizes faulty interactions, e.g., for
+ * configurations that failed in a CI build. Models are kept in an LRU cache
+ * together with their core and dead literals and a pool of configuration
+ * updaters, so that repeated requests for a model do not pay for reading the
+ * model and setting up solvers. Sessions run concurrently on a fixed number of
+ * threads.
+ * <p>
+ * A session is a {@code POST /find} request with a properties file as body:
+ * <ul>
+ * <li>{@code model}: the path of the model relative to the model directory</li>
+ * <li>{@code failing}, {@code passing}: the known configurations, encoded as
+ * for {@link InteractionFinderRunner}</li>
+ * <li>{@code algorithm}, {@code t}, {@code seed}, {@code verificationLimit}
+ * (optional)</li>
+ * <li>{@code interactions}, {@code verifier}, {@code verifier.1},
+ * {@code verifier.2}, ..., {@code verifierTimeout} (optional, see
+ * {@link #getDefaultVerifierFactory(List)})</li>
+ * </ul>
+ * The response is a properties file with the keys {@code status},
+ * {@code interactions}, {@code verificationCount}, and {@code timeInMS}. If a
+ * budget is exhausted, the interactions are the candidates narrowed down so
+ * far (see {@link PartialResultVerifyer}).
+ * {@code GET /status} returns the number of cached models and sessions.
+ * <p>
+ * Usage: {@code InteractionFinderService <port> [modelDir [threads [modelCacheSize [verifierCommand [args...]]]]]}
+ */
+public class InteractionFinderService implements AutoCloseable {
+
+    /**
+     * Creates the verifier for the configurations that a finder creates in a
+     * session. Verifiers that are {@link AutoCloseable} are closed at the end
+     * of the session.
+     */
+    public interface VerifierFactory {
+        /**
+         * @param request the request of the session
+         * @return the verifier or {@code null}, if the request cannot be
+         *         verified
+         */
+        ConfigurationVerifyer create(Properties request);
+    }
+
+    /**
+     * Result of known failing configurations and of verifications by an
+     * external command that did not finish in time.
+     */
+    private static final int FAILING_RESULT = 1;
+
+    private static class CachedModel {
+        final ModelRepresentation model;
+        final LiteralList core;
+        final int variableCount;
+        private final Queue<PooledUpdater> updaters = new ConcurrentLinkedQueue<>();
+
+        CachedModel(ModelRepresentation model) {
+            this.model = model;
+            core = model.get(new CoreDeadAnalysis());
+            variableCount = model.getVariables().getVariableCount();
+        }
+
+        PooledUpdater pollUpdater() {
+            final PooledUpdater updater = updaters.poll();
+            if (updater != null) {
+                return updater;
+            }
+            final PooledUpdater newUpdater = new PooledUpdater();
+            synchronized (this) {
+                newUpdater.updater = new RandomConfigurationUpdater(model, newUpdater.random);
+            }
+            return newUpdater;
+        }
+
+        void offerUpdater(PooledUpdater updater) {
+            updaters.offer(updater);
+        }
+    }
+
+    private static class PooledUpdater {
+        final Random random = new Random();
+        ConfigurationUpdater updater;
+    }
+
+    public static void main(String[] args) throws IOException {
+        final int port = Integer.parseInt(args[0]);
+        final Path modelPath = Paths.get(args.length > 1 ? args[1] : ".");
+        final int threadCount = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        final int modelCacheSize = args.length > 3 ? Integer.parseInt(args[3]) : 8;
+        final List<String> verifierCommand = args.length > 4 ? Arrays.asList(args).subList(4, args.length) : null;
+        new InteractionFinderService(
+                        modelPath, threadCount, modelCacheSize, getDefaultVerifierFactory(verifierCommand))
+                .start(port);
+    }
+
+    /**
+     * Creates a factory that simulates the {@code interactions} of a request,
+     * if given, and otherwise runs the {@code verifier} command of a request or
+     * the default command (see {@link ExternalCommandVerifyer}). The arguments
+     * of the command in a request are given by the keys {@code verifier.1},
+     * {@code verifier.2}, and so on.
+     *
+     * @param defaultCommand the command and its arguments for requests without
+     *            command or {@code null}
+     * @return the verifier factory
+     */
+    public static VerifierFactory getDefaultVerifierFactory(List<String> defaultCommand) {
+        return request -> {
+            final String interactions = request.getProperty("interactions");
+            if (interactions != null) {
+                return new ConfigurationOracle(parseLiteralLists(interactions), 0, 0);
+            }
+            final List<String> command = getCommand(request, defaultCommand);
+            if (command == null) {
+                return null;
+            }
+            return new ExternalCommandVerifyer(
+                    command,
+                    1,
+                    Long.parseLong(request.getProperty("verifierTimeout", String.valueOf(Long.MAX_VALUE))),
+                    FAILING_RESULT);
+        };
+    }
+
+    private static List<String> getCommand(Properties request, List<String> defaultCommand) {
+        final String executable = request.getProperty("verifier");
+        if (executable == null) {
+            return defaultCommand;
+        }
+        final List<String> command = new ArrayList<>();
+        command.add(executable);
+        for (int i = 1; request.getProperty("verifier." + i) != null; i++) {
+            command.add(request.getProperty("verifier." + i));
+        }
+        return command;
+    }
+
+    private final Path modelPath;
+    private final VerifierFactory verifierFactory;
+    private final Map<String, CompletableFuture<CachedModel>> models;
+    private final ExecutorService sessionExecutor;
+    private final AtomicInteger sessionCounter = new AtomicInteger();
+    private HttpServer server;
+
+    /**
+     * @param modelPath the directory of the models
+     * @param threadCount the maximum number of concurrent sessions
+     * @param modelCacheSize the maximum number of cached models
+     * @param verifierFactory creates the verifier for each session
+     */
+    public InteractionFinderService(
+            Path modelPath, int threadCount, int modelCacheSize, VerifierFactory verifierFactory) {
+        this.modelPath = modelPath.toAbsolutePath().normalize();
+        this.verifierFactory = verifierFactory;
+        models = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<CachedModel>> eldest) {
+                return size() > modelCacheSize;
+            }
+        };
+        sessionExecutor = Executors.newFixedThreadPool(Math.max(1, threadCount), r -> new Thread(r, "session"));
+    }
+
+    /**
+     * Starts listening on the loopback interface.
+     *
+     * @param port the port or {@code 0} for any free port
+     * @throws IOException if the port cannot be bound
+     */
+    public void start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/find", this::handleFind);
+        server.createContext("/status", this::handleStatus);
+        server.setExecutor(sessionExecutor);
+        server.start();
+        Logger.logInfo("Listening on port " + getPort());
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+        }
+        sessionExecutor.shutdownNow();
+    }
+
+    private void handleFind(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, "Use POST\n");
+                return;
+            }
+            final Properties request = new Properties();
+            request.load(new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8));
+            final int sessionID = sessionCounter.incrementAndGet();
+            try {
+                respond(exchange, 200, find(request));
+            } catch (IllegalArgumentException e) {
+                Logger.logInfo("Session " + sessionID + ": " + e.getMessage());
+                respond(exchange, 400, e.getMessage() + "\n");
+            } catch (RuntimeException e) {
+                Logger.logError(e);
+                respond(exchange, 500, e + "\n");
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleStatus(HttpExchange exchange) throws IOException {
+        try {
+            final int modelCount;
+            synchronized (models) {
+                modelCount = models.size();
+            }
+            respond(exchange, 200, "models=" + modelCount + "\nsessions=" + sessionCounter.get() + "\n");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int code, String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(code, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Runs a session.
+     *
+     * @param request the request
+     * @return the response
+     * @throws IllegalArgumentException if the request is invalid
+     */
+    String find(Properties request) {
+        final CachedModel cachedModel = getModel(getProperty(request, "model"));
+        final List<LiteralList> failingConfigurations = parseLiteralLists(getProperty(request, "failing"));
+        final List<LiteralList> passingConfigurations = parseLiteralLists(request.getProperty("passing", "null"));
+        final String algorithmName = request.getProperty("algorithm", "ForwardBackward");
+        final InteractionFinder algorithm = InteractionFinderRunner.parseAlgorithm(algorithmName);
+        if (algorithm == null) {
+            throw new IllegalArgumentException("Unknown algorithm " + algorithmName);
+        }
+        final int t = Integer.parseInt(request.getProperty("t", "2"));
+        final long seed = Long.parseLong(request.getProperty("seed", "0"));
+        final int verificationLimit =
+                Integer.parseInt(request.getProperty("verificationLimit", String.valueOf(Integer.MAX_VALUE)));
+
+        // the results of the known configurations are not verified again
+        final Map<BitConfiguration, Integer> knownResults = new HashMap<>();
+        for (LiteralList configuration : passingConfigurations) {
+            knownResults.put(BitConfiguration.fromLiteralList(configuration, cachedModel.variableCount), 0);
+        }
+        for (LiteralList configuration : failingConfigurations) {
+            knownResults.put(
+                    BitConfiguration.fromLiteralList(configuration, cachedModel.variableCount), FAILING_RESULT);
+        }
+        final List<LiteralList> sample = new ArrayList<>(failingConfigurations);
+        sample.addAll(passingConfigurations);
+
+        final ConfigurationVerifyer verifier = verifierFactory.create(request);
+        if (verifier == null) {
+            throw new IllegalArgumentException("No verifier");
+        }
+        final ConfigurationVerifyer knownVerifier = configuration -> {
+            final Integer knownResult =
+                    knownResults.get(BitConfiguration.fromLiteralList(configuration, cachedModel.variableCount));
+            return knownResult != null ? knownResult : verifier.test(configuration);
+        };
+        final PooledUpdater updater = cachedModel.pollUpdater();
+        try {
+            final PartialResultVerifyer partialResult = new PartialResultVerifyer(knownVerifier);
+            final LimitedConfigurationVerifyer limitedVerifier =
+                    new LimitedConfigurationVerifyer(partialResult, verificationLimit);
+            updater.random.setSeed(seed);
+            algorithm.reset();
+            algorithm.setCore(cachedModel.core);
+            algorithm.setVerifier(limitedVerifier);
+            algorithm.setUpdater(updater.updater);
+            algorithm.addConfigurations(sample);
+
+            List<LiteralList> foundInteractions = null;
+            RunResult.Status status;
+            final long startTime = System.nanoTime();
+            try {
+                foundInteractions = algorithm.find(t);
+                status = RunResult.Status.Completed;
+            } catch (BudgetExhaustedException e) {
+                foundInteractions = partialResult.getCandidates(cachedModel.core);
+                status = e.getStatus();
+            }
+            final long timeInMS = (System.nanoTime() - startTime) / 1_000_000;
+
+            return "status=" + status + "\n" //
+                    + "interactions="
+                    + (foundInteractions == null ? "null" : FindingPhase.encodeLiterals(foundInteractions))
+                    + "\n" //
+                    + "verificationCount=" + limitedVerifier.getCounter() + "\n" //
+                    + "timeInMS=" + timeInMS + "\n";
+        } finally {
+            cachedModel.offerUpdater(updater);
+            if (verifier instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) verifier).close();
+                } catch (Exception e) {
+                    Logger.logError(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a cached model or loads it. A model is loaded again, when its
+     * file has been modified. Concurrent requests for the same model wait for
+     * the same loading.
+     *
+     * @param modelName the path of the model relative to the model directory
+     * @return the model
+     */
+    private CachedModel getModel(String modelName) {
+        final Path path = modelPath.resolve(modelName).normalize();
+        if (!path.startsWith(modelPath) || !Files.isRegularFile(path)) {
+            throw new IllegalArgumentException("Unknown model " + modelName);
+        }
+        final String key;
+        try {
+            key = path + "@" + Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unknown model " + modelName, e);
+        }
+        CompletableFuture<CachedModel> cachedModel;
+        final boolean load;
+        synchronized (models) {
+            cachedModel = models.get(key);
+            load = cachedModel == null;
+            if (load) {
+                cachedModel = new CompletableFuture<>();
+                models.put(key, cachedModel);
+            }
+        }
+        if (load) {
+            Logger.logInfo("Loading " + modelName);
+            try {
+                final ModelRepresentation model = InteractionFinderRunner.loadModel(path);
+                if (model == null) {
+                    throw new IllegalArgumentException("Could not read model " + modelName);
+                }
+                cachedModel.complete(new CachedModel(model));
+            } catch (RuntimeException e) {
+                synchronized (models) {
+                    models.remove(key);
+                }
+                cachedModel.completeExceptionally(e);
+            }
+        }
+        try {
+            return cachedModel.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    private static String getProperty(Properties request, String key) {
+        final String value = request.getProperty(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing " + key);
+        }
+        return value;
+    }
+
+    private static List<LiteralList> parseLiteralLists(String arg) {
+        return "null".equals(arg)
+                ? List.of()
+                : Arrays.stream(arg.split(","))
+                        .map(InteractionFinderRunner::parseLiteralList)
+                        .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import de.featjar.clauses.LiteralList;
+import de.featjar.clauses.solutions.analysis.ConfigurationUpdater;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the configurations created by another updater and aborts the finder
+ * with a {@link BudgetExhaustedException} once the limit is reached. Can be
+ * used concurrently, if the other updater can.
+ */
+public class LimitedConfigurationUpdater implements ConfigurationUpdater {
+
+    private final ConfigurationUpdater updater;
+    private final int limit;
+    private final AtomicInteger counter = new AtomicInteger();
+
+    public LimitedConfigurationUpdater(ConfigurationUpdater updater, int limit) {
+        this.updater = updater;
+        this.limit = limit;
+    }
+
+    @Override
+    public Optional<LiteralList> update(LiteralList partial) {
+        int count;
+        do {
+            count = counter.get();
+            if (count >= limit) {
+                throw new BudgetExhaustedException(RunResult.Status.CreationBudgetExhausted);
+            }
+        } while (!counter.compareAndSet(count, count + 1));
+        return updater.update(partial);
+    }
+
+    public int getCounter() {
+        return counter.get();
+    }
+}
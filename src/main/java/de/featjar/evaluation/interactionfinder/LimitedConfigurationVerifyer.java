@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import de.featjar.clauses.LiteralList;
+import de.featjar.clauses.solutions.analysis.ConfigurationVerifyer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the verifications passed to another verifier and aborts the finder
+ * with a {@link BudgetExhaustedException} once the limit is reached. Can be
+ * used concurrently, if the other verifier can.
+ */
+public class LimitedConfigurationVerifyer implements ConfigurationVerifyer {
+
+    private final ConfigurationVerifyer verifier;
+    private final int limit;
+    private final AtomicInteger counter = new AtomicInteger();
+
+    public LimitedConfigurationVerifyer(ConfigurationVerifyer verifier, int limit) {
+        this.verifier = verifier;
+        this.limit = limit;
+    }
+
+    @Override
+    public int test(LiteralList configuration) {
+        int count;
+        do {
+            count = counter.get();
+            if (count >= limit) {
+                throw new BudgetExhaustedException(RunResult.Status.VerificationBudgetExhausted);
+            }
+        } while (!counter.compareAndSet(count, count + 1));
+        return verifier.test(configuration);
+    }
+
+    public int getCounter() {
+        return counter.get();
+    }
+}
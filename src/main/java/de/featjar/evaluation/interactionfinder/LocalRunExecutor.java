@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import de.featjar.util.logging.Logger;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Executes {@link RunTask}s by starting runner processes on this machine,
+ * one at a time.
+ */
+public class LocalRunExecutor implements RunExecutor {
+
+    /**
+     * Jar of the runner, created by the Gradle task shadowJar.
+     */
+    public static final Path RUNNER_JAR =
+            Paths.get("build/libs/evaluation-interaction-analysis-0.1.0-SNAPSHOT-all.jar");
+
+    /**
+     * Class-data sharing archive for the runner, created by the Gradle task
+     * runnerCdsArchive.
+     */
+    public static final Path RUNNER_CDS_ARCHIVE = RUNNER_JAR.resolveSibling("runner.jsa");
+
+    /**
+     * Exit code of the JVM when terminated by -XX:+ExitOnOutOfMemoryError.
+     */
+    public static final int OUT_OF_MEMORY_EXIT_CODE = 3;
+
+    /**
+     * Internal exit code for runner processes that were terminated after
+     * their timeout.
+     */
+    public static final int TIMEOUT_EXIT_CODE = -1;
+
+    private static final String OUTPUT_FILE_NAME = "output";
+
+    private final Path workPath;
+    private Path writtenModelPath;
+    private long spawnTimeInNS;
+
+    /**
+     * @param workPath the directory for the output files and for models and
+     *            samples that are not given as paths
+     */
+    public LocalRunExecutor(Path workPath) {
+        this.workPath = workPath;
+    }
+
+    @Override
+    public CompletableFuture<RunOutput> execute(RunTask task) {
+        try {
+            return CompletableFuture.completedFuture(run(task));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Runs a task and retries it once with a larger heap, if it ran out of
+     * memory.
+     *
+     * @param task the task
+     * @return the output of the task
+     * @throws IOException if the runner cannot be started
+     * @throws InterruptedException if interrupted while waiting for the runner
+     */
+    public RunOutput run(RunTask task) throws IOException, InterruptedException {
+        final Path modelPath = getModelPath(task);
+        final Path samplePath = task.samplePath != null ? task.samplePath : workPath.resolve(task.sampleFileName);
+        if (task.samplePath == null) {
+            Files.write(samplePath, task.sample);
+        }
+        for (String directory : task.outputDirectories) {
+            Files.createDirectories(Paths.get(directory));
+        }
+        final Path outputPath = workPath.resolve(OUTPUT_FILE_NAME);
+        final List<String> outputFileNames = new ArrayList<>();
+        for (int t : task.tValues) {
+            final Path path = task.tValues.size() == 1 ? outputPath : RunResult.getPath(outputPath, t);
+            Files.deleteIfExists(path);
+            outputFileNames.add(path.getFileName().toString());
+        }
+
+        spawnTimeInNS = 0;
+        int heapSize = task.heapSize;
+        int exitCode = runProcess(task, heapSize, modelPath, samplePath, outputPath);
+        if (exitCode == OUT_OF_MEMORY_EXIT_CODE && task.retryHeapSize > heapSize) {
+            Logger.logInfo("Out of memory with " + heapSize + "MB, retrying with " + task.retryHeapSize + "MB");
+            heapSize = task.retryHeapSize;
+            exitCode = runProcess(task, heapSize, modelPath, samplePath, outputPath);
+        }
+
+        final RunOutput output = new RunOutput(exitCode, heapSize);
+        output.spawnTimeInNS = spawnTimeInNS;
+        if (exitCode == 0) {
+            for (String fileName : outputFileNames) {
+                final Path path = workPath.resolve(fileName);
+                if (Files.exists(path)) {
+                    output.files.put(fileName, Files.readAllBytes(path));
+                }
+            }
+        }
+        return output;
+    }
+
+    private Path getModelPath(RunTask task) throws IOException {
+        if (task.modelPath != null) {
+            return task.modelPath;
+        }
+        final Path modelPath = workPath.resolve("model_" + task.modelKey + ".dimacs");
+        if (task.model != null) {
+            if (writtenModelPath != null && !writtenModelPath.equals(modelPath)) {
+                Files.deleteIfExists(writtenModelPath);
+            }
+            Files.write(modelPath, task.model);
+            writtenModelPath = modelPath;
+        } else if (!Files.exists(modelPath)) {
+            throw new IOException("Missing model " + task.modelKey);
+        }
+        return modelPath;
+    }
+
+    private int runProcess(RunTask task, int heapSize, Path modelPath, Path samplePath, Path outputPath)
+            throws IOException, InterruptedException {
+        final List<String> command = new ArrayList<>();
+        command.add("java");
+        command.add("-Xmx" + heapSize + "m");
+        command.add("-XX:+ExitOnOutOfMemoryError");
+        command.add("-da");
+        command.addAll(task.jvmOptions);
+        command.addAll(List.of(
+                "-cp", //
+                RUNNER_JAR.toString(), //
+                "de.featjar.evaluation.interactionfinder.InteractionFinderRunner", //
+                modelPath.toString(), //
+                samplePath.toString(), //
+                outputPath.toString()));
+        command.addAll(task.arguments);
+        final ProcessBuilder processBuilder = new ProcessBuilder(command);
+        processBuilder.environment().putAll(task.environment);
+        processBuilder.redirectErrorStream(true);
+        final long startTime = System.nanoTime();
+        final Process process = processBuilder.start();
+        spawnTimeInNS += System.nanoTime() - startTime;
+        final AtomicBoolean outOfMemory = new AtomicBoolean();
+        final Thread outputReader = new Thread(() -> {
+            try (BufferedReader prcOut = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                String line = null;
+                while ((line = prcOut.readLine()) != null) {
+                    if (line.contains(OutOfMemoryError.class.getSimpleName())) {
+                        outOfMemory.set(true);
+                    }
+                    Logger.logError(line);
+                }
+            } catch (IOException e) {
+                Logger.logError(e);
+            }
+        });
+        outputReader.start();
+
+        if (task.timeout > 0 && !process.waitFor(task.timeout, TimeUnit.MILLISECONDS)) {
+            process.descendants().forEach(ProcessHandle::destroyForcibly);
+            process.destroyForcibly().waitFor();
+            outputReader.join();
+            return TIMEOUT_EXIT_CODE;
+        }
+        final int exitCode = process.waitFor();
+        outputReader.join();
+        return (outOfMemory.get() && exitCode != 0) ? OUT_OF_MEMORY_EXIT_CODE : exitCode;
+    }
+
+    @Override
+    public void close() {}
+}
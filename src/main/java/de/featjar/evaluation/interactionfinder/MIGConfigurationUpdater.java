@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import de.featjar.analysis.mig.solver.MIG;
+import de.featjar.analysis.mig.solver.Vertex;
+import de.featjar.analysis.sat4j.RandomConfigurationUpdater;
+import de.featjar.clauses.CNF;
+import de.featjar.clauses.CNFProvider;
+import de.featjar.clauses.LiteralList;
+import de.featjar.clauses.solutions.analysis.ConfigurationUpdater;
+import de.featjar.formula.ModelRepresentation;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * Completes partial configurations by unit propagation over the strong edges
+ * of a {@link MIG}. Unassigned variables are decided in random order, each
+ * decision is propagated, and the result is checked against all clauses. If
+ * propagation runs into a conflict or the result violates a clause, the
+ * configuration is completed by a {@link RandomConfigurationUpdater} instead.
+ */
+public class MIGConfigurationUpdater {
+
+    /**
+     * Counts how often the MIG suffices and how often the SAT solver is needed.
+     */
+    public static class Statistics {
+        private long migCount, satCount, migTime, satTime;
+
+        public synchronized long getMIGCount() {
+            return migCount;
+        }
+
+        public synchronized long getSATCount() {
+            return satCount;
+        }
+
+        /**
+         * Estimates the time saved by the MIG based on the average time of the
+         * SAT completions.
+         *
+         * @return the saved time in ns or {@code -1}, if no SAT completion was
+         *         measured yet
+         */
+        public synchronized long getTimeSaved() {
+            return satCount == 0 ? -1 : (migCount * satTime / satCount) - migTime;
+        }
+
+        synchronized void addMIG(long time) {
+            migCount++;
+            migTime += time;
+        }
+
+        synchronized void addSAT(long time) {
+            satCount++;
+            satTime += time;
+        }
+    }
+
+    private final MIG mig;
+    private final List<LiteralList> clauses;
+    private final int variableCount;
+    private final int[] coreDead;
+    private final Random random;
+
+    private MIGConfigurationUpdater(MIG mig, CNF cnf, LiteralList coreDead, Random random) {
+        this.mig = mig;
+        clauses = cnf.getClauses();
+        variableCount = cnf.getVariableMap().getVariableCount();
+        this.coreDead = coreDead.getLiterals();
+        this.random = random;
+    }
+
+    /**
+     * Creates an updater that completes configurations via the MIG whenever
+     * possible. All other methods are handled by a
+     * {@link RandomConfigurationUpdater}.
+     *
+     * @param model the model
+     * @param mig the MIG of the model
+     * @param coreDead the core and dead literals of the model
+     * @param random reseeds the random instances of the MIG and SAT completion
+     *            before each completion, so that a completion only depends on
+     *            the state of this instance
+     * @param statistics receives the number of MIG and SAT completions
+     * @return the updater
+     */
+    public static ConfigurationUpdater create(
+            ModelRepresentation model, MIG mig, LiteralList coreDead, Random random, Statistics statistics) {
+        final Random migRandom = new Random();
+        final Random satRandom = new Random();
+        final MIGConfigurationUpdater migUpdater =
+                new MIGConfigurationUpdater(mig, model.get(CNFProvider.fromFormula()), coreDead, migRandom);
+        final RandomConfigurationUpdater satUpdater = new RandomConfigurationUpdater(model, satRandom);
+        return partial -> {
+            migRandom.setSeed(random.nextLong());
+            satRandom.setSeed(random.nextLong());
+            long startTime = System.nanoTime();
+            final LiteralList configuration = migUpdater.complete(partial);
+            if (configuration != null) {
+                statistics.addMIG(System.nanoTime() - startTime);
+                return Optional.of(configuration);
+            }
+            startTime = System.nanoTime();
+            final Optional<LiteralList> result = satUpdater.update(partial);
+            statistics.addSAT(System.nanoTime() - startTime);
+            return result;
+        };
+    }
+
+    /**
+     * Completes a partial configuration.
+     *
+     * @param partial the partial configuration
+     * @return the complete configuration or {@code null}, if the MIG does not
+     *         suffice
+     */
+    public LiteralList complete(LiteralList partial) {
+        final int[] assignment = new int[variableCount];
+        final int[] trail = new int[variableCount];
+        final int[] trailSize = new int[1];
+        for (int literal : coreDead) {
+            if (!propagate(assignment, literal, trail, trailSize)) {
+                return null;
+            }
+        }
+        for (int literal : partial.getLiterals()) {
+            if (literal != 0 && !propagate(assignment, literal, trail, trailSize)) {
+                return null;
+            }
+        }
+
+        final int[] order = new int[variableCount];
+        for (int i = 0; i < variableCount; i++) {
+            order[i] = i + 1;
+        }
+        for (int i = variableCount - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        for (int variable : order) {
+            if (assignment[variable - 1] == 0) {
+                final int literal = random.nextBoolean() ? variable : -variable;
+                final int mark = trailSize[0];
+                if (!propagate(assignment, literal, trail, trailSize)) {
+                    undo(assignment, trail, trailSize, mark);
+                    if (!propagate(assignment, -literal, trail, trailSize)) {
+                        return null;
+                    }
+                }
+            }
+        }
+
+        for (LiteralList clause : clauses) {
+            if (!isSatisfied(assignment, clause)) {
+                return null;
+            }
+        }
+        return new LiteralList(assignment, LiteralList.Order.INDEX);
+    }
+
+    private boolean propagate(int[] assignment, int literal, int[] trail, int[] trailSize) {
+        final ArrayDeque<Integer> pending = new ArrayDeque<>();
+        pending.push(literal);
+        while (!pending.isEmpty()) {
+            final int l = pending.pop();
+            final int index = Math.abs(l) - 1;
+            if (assignment[index] == l) {
+                continue;
+            } else if (assignment[index] == -l) {
+                return false;
+            }
+            assignment[index] = l;
+            trail[trailSize[0]++] = index;
+            final Vertex vertex = mig.getVertex(l);
+            if (vertex != null) {
+                for (Vertex implied : vertex.getStrongEdges()) {
+                    pending.push(implied.getVar());
+                }
+            }
+        }
+        return true;
+    }
+
+    private static void undo(int[] assignment, int[] trail, int[] trailSize, int mark) {
+        while (trailSize[0] > mark) {
+            assignment[trail[--trailSize[0]]] = 0;
+        }
+    }
+
+    private static boolean isSatisfied(int[] assignment, LiteralList clause) {
+        for (int literal : clause.getLiterals()) {
+            if (assignment[Math.abs(literal) - 1] == literal) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import de.featjar.clauses.LiteralList;
+import java.nio.MappedByteBuffer;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Read-only view on a sample stored in the {@link BinarySampleFormat}. The
+ * assignments stay in the memory-mapped file and are only decoded when a
+ * configuration is requested.
+ */
+public class MappedSample extends AbstractList<LiteralList> implements RandomAccess {
+
+    private final MappedByteBuffer buffer;
+    private final int bitsPerVariable;
+    private final int variableCount;
+    private final int configurationCount;
+    private final int configurationSize;
+
+    MappedSample(
+            MappedByteBuffer buffer,
+            int bitsPerVariable,
+            int variableCount,
+            int configurationCount,
+            int configurationSize) {
+        this.buffer = buffer;
+        this.bitsPerVariable = bitsPerVariable;
+        this.variableCount = variableCount;
+        this.configurationCount = configurationCount;
+        this.configurationSize = configurationSize;
+    }
+
+    @Override
+    public LiteralList get(int index) {
+        final int offset = getOffset(index);
+        final int[] literals = new int[variableCount];
+        if (bitsPerVariable == 1) {
+            for (int i = 0; i < variableCount; i++) {
+                final int bits = buffer.get(offset + (i >>> 3));
+                literals[i] = (bits & (1 << (i & 7))) != 0 ? i + 1 : -(i + 1);
+            }
+        } else {
+            for (int i = 0; i < variableCount; i++) {
+                final int bits = buffer.get(offset + (i >>> 2)) >>> ((i & 3) << 1);
+                switch (bits & 0b11) {
+                    case BinarySampleFormat.SELECTED:
+                        literals[i] = i + 1;
+                        break;
+                    case BinarySampleFormat.DESELECTED:
+                        literals[i] = -(i + 1);
+                        break;
+                    default:
+                        literals[i] = 0;
+                        break;
+                }
+            }
+        }
+        return new LiteralList(literals, LiteralList.Order.INDEX);
+    }
+
+    @Override
+    public int size() {
+        return configurationCount;
+    }
+
+    private int getOffset(int index) {
+        if (index < 0 || index >= configurationCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + configurationCount);
+        }
+        return BinarySampleFormat.HEADER_SIZE + index * configurationSize;
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import de.featjar.clauses.CNF;
+import de.featjar.clauses.LiteralList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Remembers the last version of each system family (e.g., all busybox
+ * versions), so that the analysis results of a version can be reused for the
+ * next one. Versions are compared by the clauses of their CNFs, with variables
+ * identified by name.
+ */
+public class ModelHistory {
+
+    public enum Change {
+        /**
+         * No previous version of the same family.
+         */
+        New,
+        /**
+         * Same variables and clauses.
+         */
+        Identical,
+        /**
+         * All clauses of the previous version are still there. Core and dead
+         * variables of the previous version stay core and dead.
+         */
+        ConstraintsAdded,
+        /**
+         * No new clauses. Only core and dead variables of the previous version
+         * can be core and dead.
+         */
+        ConstraintsRemoved,
+        /**
+         * Clauses were added and removed.
+         */
+        Changed
+    }
+
+    /**
+     * The family of a system is its name up to the first separator that is
+     * followed by a digit (e.g., busybox for busybox-1_18_0 and
+     * busybox_2007-01-24_09-14-09).
+     */
+    private static final Pattern FAMILY_PATTERN = Pattern.compile("(.+?)[-_]\\d");
+
+    private final Map<String, Version> lastVersions = new HashMap<>();
+
+    public static String getFamily(String systemName) {
+        final Matcher matcher = FAMILY_PATTERN.matcher(systemName);
+        return matcher.lookingAt() ? matcher.group(1) : systemName;
+    }
+
+    /**
+     * Adds a version and compares it to the last version of its family.
+     *
+     * @param systemName the name of the version
+     * @param cnf the CNF of the version
+     * @return the comparison to the last version
+     */
+    public Diff add(String systemName, CNF cnf) {
+        final Version version = new Version(cnf);
+        final Version previousVersion;
+        synchronized (this) {
+            previousVersion = lastVersions.put(getFamily(systemName), version);
+        }
+        return new Diff(previousVersion, version);
+    }
+
+    private static class Version {
+        final String[] variableNames;
+        final Map<String, Integer> variableIndices = new HashMap<>();
+        final Set<String> clauses;
+        LiteralList coreDead;
+        final List<StoredWorkload> workloads = new ArrayList<>();
+
+        Version(CNF cnf) {
+            final int variableCount = cnf.getVariableMap().getVariableCount();
+            variableNames = new String[variableCount + 1];
+            for (int i = 1; i <= variableCount; i++) {
+                variableNames[i] = cnf.getVariableMap().getVariableName(i).orElse(String.valueOf(i));
+                variableIndices.put(variableNames[i], i);
+            }
+            clauses = cnf.getClauses().stream().map(this::getClauseKey).collect(Collectors.toSet());
+        }
+
+        private String getClauseKey(LiteralList clause) {
+            return Arrays.stream(clause.getLiterals())
+                    .mapToObj(l -> (l > 0 ? "+" : "-") + variableNames[Math.abs(l)])
+                    .sorted()
+                    .collect(Collectors.joining("\n"));
+        }
+
+        boolean hasSameVariables(Version other) {
+            return variableIndices.keySet().equals(other.variableIndices.keySet());
+        }
+    }
+
+    /**
+     * A workload with its complete configurations stored as bits, because the
+     * workloads of all iterations are kept until the next version.
+     */
+    private static class StoredWorkload {
+        final int systemIteration, interactionSize, interactionCount;
+        final List<BitConfiguration> faultyConfigs, faultyInteractionsUpdated;
+        final List<LiteralList> faultyInteractions;
+
+        StoredWorkload(Workload workload, int variableCount) {
+            systemIteration = workload.systemIteration;
+            interactionSize = workload.interactionSize;
+            interactionCount = workload.interactionCount;
+            faultyConfigs = toBits(workload.faultyConfigs, variableCount);
+            faultyInteractions = workload.faultyInteractions;
+            faultyInteractionsUpdated = toBits(workload.faultyInteractionsUpdated, variableCount);
+        }
+
+        private static List<BitConfiguration> toBits(List<LiteralList> configurations, int variableCount) {
+            return configurations.stream()
+                    .map(c -> BitConfiguration.fromLiteralList(c, variableCount))
+                    .collect(Collectors.toList());
+        }
+
+        boolean matches(int systemIteration, SweepCell cell) {
+            return this.systemIteration == systemIteration
+                    && interactionSize == cell.interactionSize
+                    && interactionCount == cell.interactionCount;
+        }
+    }
+
+    /**
+     * Comparison of a version to the previous version of its family. Also
+     * records the analysis results of the version for the next one.
+     */
+    public static class Diff {
+        private final Version previousVersion, version;
+        private final Change change;
+        private int[] variableMapping;
+
+        private Diff(Version previousVersion, Version version) {
+            this.previousVersion = previousVersion;
+            this.version = version;
+            if (previousVersion == null) {
+                change = Change.New;
+            } else {
+                final boolean added = !previousVersion.clauses.containsAll(version.clauses);
+                final boolean removed = !version.clauses.containsAll(previousVersion.clauses);
+                if (added) {
+                    change = removed ? Change.Changed : Change.ConstraintsAdded;
+                } else if (removed) {
+                    change = Change.ConstraintsRemoved;
+                } else {
+                    // only unconstrained variables differ
+                    change = version.hasSameVariables(previousVersion) ? Change.Identical : Change.ConstraintsRemoved;
+                }
+            }
+        }
+
+        public Change getChange() {
+            return change;
+        }
+
+        /**
+         * @return the core and dead literals of the previous version in terms
+         *         of this version or {@code null}, if there is no previous
+         *         version
+         */
+        public LiteralList getPreviousCoreDead() {
+            if (previousVersion == null) {
+                return null;
+            }
+            final LiteralList coreDead;
+            synchronized (previousVersion) {
+                coreDead = previousVersion.coreDead;
+            }
+            return coreDead == null ? null : map(coreDead, false);
+        }
+
+        public void setCoreDead(LiteralList coreDead) {
+            synchronized (version) {
+                version.coreDead = coreDead;
+            }
+        }
+
+        /**
+         * Workloads consist of complete configurations and their partial
+         * configurations. They are valid in this version, if it has the same
+         * variables and no new clauses.
+         *
+         * @return whether the workloads of the previous version can be reused
+         */
+        public boolean canReuseWorkloads() {
+            return (change == Change.Identical || change == Change.ConstraintsRemoved)
+                    && version.hasSameVariables(previousVersion);
+        }
+
+        /**
+         * @param systemIteration the system iteration
+         * @param cell the cell
+         * @return the matching workload of the previous version in terms of
+         *         this version or {@code null}, if there is none or it cannot be
+         *         reused
+         */
+        public Workload getPreviousWorkload(int systemIteration, SweepCell cell) {
+            if (!canReuseWorkloads()) {
+                return null;
+            }
+            StoredWorkload workload = null;
+            synchronized (previousVersion) {
+                for (StoredWorkload previousWorkload : previousVersion.workloads) {
+                    if (previousWorkload.matches(systemIteration, cell)) {
+                        workload = previousWorkload;
+                        break;
+                    }
+                }
+            }
+            if (workload == null) {
+                return null;
+            }
+            final Workload reusedWorkload = new Workload(
+                    workload.systemIteration,
+                    workload.interactionSize,
+                    workload.interactionCount,
+                    mapConfigurations(workload.faultyConfigs),
+                    workload.faultyInteractions.stream().map(l -> map(l, false)).collect(Collectors.toList()),
+                    mapConfigurations(workload.faultyInteractionsUpdated));
+            reusedWorkload.reused = true;
+            return reusedWorkload;
+        }
+
+        public void addWorkload(Workload workload) {
+            final StoredWorkload storedWorkload = new StoredWorkload(workload, version.variableNames.length - 1);
+            synchronized (version) {
+                version.workloads.add(storedWorkload);
+            }
+        }
+
+        private List<LiteralList> mapConfigurations(List<BitConfiguration> configurations) {
+            return configurations.stream().map(c -> map(c.toLiteralList(), true)).collect(Collectors.toList());
+        }
+
+        /**
+         * Maps literals of the previous version to this version.
+         *
+         * @param literals the literals of the previous version
+         * @param keepOrder whether to order the literals by index, as for
+         *            complete configurations
+         * @return the literals, without variables that do not exist anymore
+         */
+        private LiteralList map(LiteralList literals, boolean keepOrder) {
+            if (variableMapping == null) {
+                variableMapping = new int[previousVersion.variableNames.length];
+                for (int i = 1; i < variableMapping.length; i++) {
+                    variableMapping[i] = version.variableIndices.getOrDefault(previousVersion.variableNames[i], 0);
+                }
+            }
+            final int[] mappedLiterals = Arrays.stream(literals.getLiterals())
+                    .map(l -> l > 0 ? variableMapping[l] : -variableMapping[-l])
+                    .filter(l -> l != 0)
+                    .toArray();
+            if (keepOrder) {
+                final int[] orderedLiterals = new int[version.variableNames.length - 1];
+                for (int l : mappedLiterals) {
+                    orderedLiterals[Math.abs(l) - 1] = l;
+                }
+                return new LiteralList(orderedLiterals, LiteralList.Order.INDEX);
+            }
+            return new LiteralList(mappedLiterals);
+        }
+    }
+}
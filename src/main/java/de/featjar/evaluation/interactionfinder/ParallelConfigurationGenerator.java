@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import de.featjar.analysis.sat4j.FastRandomConfigurationGenerator;
+import de.featjar.analysis.sat4j.RandomConfigurationGenerator;
+import de.featjar.clauses.CNFProvider;
+import de.featjar.clauses.LiteralList;
+import de.featjar.clauses.solutions.SolutionList;
+import de.featjar.formula.ModelRepresentation;
+import de.featjar.formula.structure.Formula;
+import de.featjar.util.logging.Logger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Generates distinct random configurations on several threads. The requested
+ * configurations are split into chunks of fixed size, each generated with a
+ * seed derived from the given seed and the chunk index. Chunks are merged in
+ * the order of their index, dropping configurations that were already
+ * generated, until enough configurations are found. Thus, the result only
+ * depends on the seed and not on the number of threads.
+ */
+public class ParallelConfigurationGenerator implements AutoCloseable {
+
+    private static final int CHUNK_SIZE = 8;
+    private static final int TIMEOUT = 1_000_000;
+
+    private static final class ConfigurationKey {
+        private final int[] literals;
+        private final int hashCode;
+
+        ConfigurationKey(LiteralList configuration) {
+            literals = configuration.getLiterals();
+            hashCode = Arrays.hashCode(literals);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof ConfigurationKey && Arrays.equals(literals, ((ConfigurationKey) obj).literals);
+        }
+    }
+
+    private final ExecutorService executor;
+
+    public ParallelConfigurationGenerator(int threadCount) {
+        executor = Executors.newFixedThreadPool(Math.max(1, threadCount), r -> {
+            Thread thread = new Thread(r, "configuration-generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Generates distinct configurations.
+     *
+     * @param cnf the formula in CNF
+     * @param seed the seed
+     * @param count the number of configurations
+     * @return the configurations or fewer, if the formula has fewer solutions
+     */
+    public List<LiteralList> generate(Formula cnf, long seed, int count) {
+        final Map<Thread, ModelRepresentation> models = new ConcurrentHashMap<>();
+        final Set<ConfigurationKey> generated = ConcurrentHashMap.newKeySet();
+        final List<LiteralList> configurations = new ArrayList<>(count);
+
+        int chunkIndex = 0;
+        while (configurations.size() < count) {
+            final int chunkCount = (count - configurations.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            final List<Future<List<LiteralList>>> chunks = new ArrayList<>(chunkCount);
+            for (int i = 0; i < chunkCount; i++) {
+                final long chunkSeed = deriveSeed(seed, chunkIndex++);
+                chunks.add(executor.submit(() -> {
+                    final ModelRepresentation model =
+                            models.computeIfAbsent(Thread.currentThread(), t -> createModel(cnf));
+                    final List<LiteralList> chunk = model.getResult(getConfigGenerator(chunkSeed))
+                            .map(SolutionList::getSolutions)
+                            .orElse(Logger::logProblems);
+                    if (chunk == null) {
+                        return Collections.<LiteralList>emptyList();
+                    }
+                    return chunk.stream()
+                            .filter(c -> !generated.contains(new ConfigurationKey(c)))
+                            .collect(Collectors.toList());
+                }));
+            }
+
+            final int previousSize = configurations.size();
+            try {
+                for (Future<List<LiteralList>> chunk : chunks) {
+                    for (LiteralList configuration : chunk.get()) {
+                        if (configurations.size() < count && generated.add(new ConfigurationKey(configuration))) {
+                            configurations.add(configuration);
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } catch (ExecutionException e) {
+                throw new RuntimeException(e.getCause());
+            }
+            if (configurations.size() == previousSize) {
+                break;
+            }
+        }
+        return configurations;
+    }
+
+    private static ModelRepresentation createModel(Formula cnf) {
+        final ModelRepresentation model = new ModelRepresentation(cnf);
+        model.get(CNFProvider.fromFormula());
+        return model;
+    }
+
+    private static RandomConfigurationGenerator getConfigGenerator(long seed) {
+        RandomConfigurationGenerator generator = new FastRandomConfigurationGenerator();
+        generator.setTimeout(TIMEOUT);
+        generator.setAllowDuplicates(false);
+        generator.setRandom(new Random(seed));
+        generator.setLimit(CHUNK_SIZE);
+        return generator;
+    }
+
+    private static long deriveSeed(long seed, int chunkIndex) {
+        long z = seed + (chunkIndex + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
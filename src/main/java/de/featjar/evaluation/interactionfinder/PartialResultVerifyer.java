@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import de.featjar.clauses.LiteralList;
+import de.featjar.clauses.solutions.analysis.ConfigurationVerifyer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps track of the interactions a finder has narrowed down so far, so that a
+ * run that exhausts its budget can still report a result. For each fault (i.e.,
+ * each non-zero verification result), the candidate interaction consists of
+ * the literals that all configurations failing with this fault have in common.
+ * Can be used concurrently, if the other verifier can.
+ */
+public class PartialResultVerifyer implements ConfigurationVerifyer {
+
+    private final ConfigurationVerifyer verifier;
+    private final Map<Integer, LiteralList> candidates = new TreeMap<>();
+
+    public PartialResultVerifyer(ConfigurationVerifyer verifier) {
+        this.verifier = verifier;
+    }
+
+    @Override
+    public int test(LiteralList configuration) {
+        final int result = verifier.test(configuration);
+        if (result != 0) {
+            synchronized (candidates) {
+                candidates.merge(result, configuration, LiteralList::retainAll);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param core the core and dead literals, which every configuration
+     *            contains
+     * @return one candidate interaction per fault found so far, without core
+     *         and dead literals
+     */
+    public List<LiteralList> getCandidates(LiteralList core) {
+        final List<LiteralList> result = new ArrayList<>();
+        synchronized (candidates) {
+            for (LiteralList candidate : candidates.values()) {
+                result.add(core == null ? candidate : candidate.removeAll(core));
+            }
+        }
+        return result;
+    }
+}
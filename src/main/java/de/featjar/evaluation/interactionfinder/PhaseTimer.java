@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates the time {@link FindingPhase} spends in its own phases, as
+ * opposed to the time of the finder itself. Can be used concurrently.
+ */
+public class PhaseTimer {
+
+    public enum Phase {
+        ModelRead(false),
+        CNF(false),
+        CoreDead(false),
+        DIMACSExport(false),
+        ConfigGeneration(true),
+        InteractionUpdate(true),
+        SampleExport(true),
+        ProcessSpawn(true),
+        ResultParsing(true);
+
+        private final boolean perWorkload;
+
+        Phase(boolean perWorkload) {
+            this.perWorkload = perWorkload;
+        }
+
+        /**
+         * @return whether the phase is timed per workload instead of once per
+         *         system
+         */
+        public boolean isPerWorkload() {
+            return perWorkload;
+        }
+    }
+
+    private final LongAdder[] times = new LongAdder[Phase.values().length];
+
+    public PhaseTimer() {
+        for (int i = 0; i < times.length; i++) {
+            times[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Adds the time since the given start.
+     *
+     * @param phase the phase
+     * @param startTime the start time as given by {@link System#nanoTime()}
+     */
+    public void stop(Phase phase, long startTime) {
+        add(phase, System.nanoTime() - startTime);
+    }
+
+    public void add(Phase phase, long timeInNS) {
+        times[phase.ordinal()].add(timeInNS);
+    }
+
+    public void add(PhaseTimer other) {
+        for (Phase phase : Phase.values()) {
+            add(phase, other.getTime(phase));
+        }
+    }
+
+    /**
+     * @param phase the phase
+     * @return the accumulated time in ns
+     */
+    public long getTime(Phase phase) {
+        return times[phase.ordinal()].sum();
+    }
+}
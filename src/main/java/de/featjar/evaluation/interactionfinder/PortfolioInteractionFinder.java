@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import de.featjar.clauses.LiteralList;
+import de.featjar.clauses.solutions.analysis.ConfigurationUpdater;
+import de.featjar.clauses.solutions.analysis.ConfigurationVerifyer;
+import de.featjar.clauses.solutions.analysis.InteractionFinder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs several finders concurrently and returns the result of the first one
+ * that finishes. The finders share the verifier and the updater. Once a finder
+ * has won, the others are cancelled at their next verification or update.
+ * The verifier must be thread-safe, the updater is synchronized.
+ */
+public class PortfolioInteractionFinder implements InteractionFinder {
+
+    /**
+     * Prefix of portfolio algorithm names, e.g.,
+     * {@code Portfolio:Single+ForwardBackward}.
+     */
+    public static final String PREFIX = "Portfolio:";
+
+    private final List<String> names;
+    private final List<InteractionFinder> finders;
+    private volatile boolean cancelled;
+    private String winner;
+
+    public PortfolioInteractionFinder(List<String> names, List<InteractionFinder> finders) {
+        this.names = names;
+        this.finders = finders;
+    }
+
+    @Override
+    public void reset() {
+        winner = null;
+        for (InteractionFinder finder : finders) {
+            finder.reset();
+        }
+    }
+
+    @Override
+    public void setCore(LiteralList core) {
+        for (InteractionFinder finder : finders) {
+            finder.setCore(core);
+        }
+    }
+
+    @Override
+    public void setVerifier(ConfigurationVerifyer verifier) {
+        final ConfigurationVerifyer cancellableVerifier = configuration -> {
+            checkCancelled();
+            final int result = verifier.test(configuration);
+            checkCancelled();
+            return result;
+        };
+        for (InteractionFinder finder : finders) {
+            finder.setVerifier(cancellableVerifier);
+        }
+    }
+
+    @Override
+    public void setUpdater(ConfigurationUpdater updater) {
+        final ConfigurationUpdater synchronizedUpdater = partial -> {
+            checkCancelled();
+            synchronized (updater) {
+                return updater.update(partial);
+            }
+        };
+        for (InteractionFinder finder : finders) {
+            finder.setUpdater(synchronizedUpdater);
+        }
+    }
+
+    @Override
+    public void addConfigurations(List<LiteralList> configurations) {
+        for (InteractionFinder finder : finders) {
+            finder.addConfigurations(new ArrayList<>(configurations));
+        }
+    }
+
+    @Override
+    public List<LiteralList> find(int t) {
+        cancelled = false;
+        final List<List<LiteralList>> results = new ArrayList<>(finders.size());
+        final List<Callable<Integer>> tasks = new ArrayList<>(finders.size());
+        for (int i = 0; i < finders.size(); i++) {
+            final int index = i;
+            results.add(null);
+            tasks.add(() -> {
+                final List<LiteralList> result = finders.get(index).find(t);
+                results.set(index, result);
+                return index;
+            });
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(finders.size());
+        try {
+            final int winnerIndex = executor.invokeAny(tasks);
+            winner = names.get(winnerIndex);
+            return results.get(winnerIndex);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException();
+        } finally {
+            cancelled = true;
+            executor.shutdownNow();
+            awaitTermination(executor);
+        }
+    }
+
+    private static void awaitTermination(ExecutorService executor) {
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void checkCancelled() {
+        if (cancelled) {
+            throw new CancellationException();
+        }
+    }
+
+    /**
+     * @return the verifications of all finders, including the cancelled ones
+     */
+    @Override
+    public int getVerifyCounter() {
+        return finders.stream().mapToInt(InteractionFinder::getVerifyCounter).sum();
+    }
+
+    /**
+     * @return the name of the finder that won the last run or {@code null}, if
+     *         all finders failed
+     */
+    public String getWinner() {
+        return winner;
+    }
+}
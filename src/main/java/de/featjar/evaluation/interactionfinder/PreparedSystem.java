@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import de.featjar.clauses.LiteralList;
+import de.featjar.clauses.solutions.analysis.ConfigurationUpdater;
+import de.featjar.formula.ModelRepresentation;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+
+/**
+ * A system with all analysis results that {@link FindingPhase} needs before
+ * it can start the runs for this system.
+ */
+public class PreparedSystem {
+
+    final int systemIndex;
+    final String systemName;
+
+    ModelRepresentation model;
+    LiteralList coreDead;
+    int variableCount, clauseCount, coreCount;
+    ConfigurationUpdater workloadUpdater;
+    Function<Random, ConfigurationUpdater> globalUpdaterFactory;
+    CompletionCache completionCache;
+    private final Queue<PooledUpdater> globalUpdaters = new ConcurrentLinkedQueue<>();
+    MIGConfigurationUpdater.Statistics migStatistics = new MIGConfigurationUpdater.Statistics();
+    Path dimacsPath;
+    String modelKey;
+    ModelHistory.Diff versionDiff;
+    int reusedWorkloadCount;
+    final PhaseTimer phaseTimer = new PhaseTimer();
+    final List<Workload> workloads = new ArrayList<>();
+
+    private static class PooledUpdater {
+        final Random random = new Random();
+        long seed;
+        ConfigurationUpdater updater;
+    }
+
+    PreparedSystem(int systemIndex, String systemName) {
+        this.systemIndex = systemIndex;
+        this.systemName = systemName;
+    }
+
+    /**
+     * @return whether the system could be prepared
+     */
+    public boolean isValid() {
+        return dimacsPath != null;
+    }
+
+    /**
+     * Completes a partial configuration with a random instance seeded by the
+     * given seed, so that the result does not depend on the order of the calls.
+     * Completions are taken from the completion cache, if there is one. Can be
+     * called concurrently.
+     *
+     * @param partial the partial configuration
+     * @param seed the seed
+     * @return the completed configuration
+     */
+    public Optional<LiteralList> updateGlobally(LiteralList partial, long seed) {
+        PooledUpdater updater = globalUpdaters.poll();
+        if (updater == null) {
+            final PooledUpdater newUpdater = new PooledUpdater();
+            synchronized (this) {
+                newUpdater.updater = globalUpdaterFactory.apply(newUpdater.random);
+            }
+            if (completionCache != null) {
+                newUpdater.updater =
+                        CompletionCache.decorate(newUpdater.updater, completionCache, () -> newUpdater.seed);
+            }
+            updater = newUpdater;
+        }
+        try {
+            updater.seed = seed;
+            updater.random.setSeed(seed);
+            return updater.updater.update(partial);
+        } finally {
+            globalUpdaters.offer(updater);
+        }
+    }
+
+    public Workload getWorkload(int systemIteration, SweepCell cell) {
+        for (Workload workload : workloads) {
+            if (workload.matches(systemIteration, cell)) {
+                return workload;
+            }
+        }
+        return null;
+    }
+}
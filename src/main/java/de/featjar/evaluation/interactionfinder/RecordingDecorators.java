@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import de.featjar.clauses.LiteralList;
+import de.featjar.clauses.solutions.analysis.ConfigurationUpdater;
+import de.featjar.clauses.solutions.analysis.ConfigurationVerifyer;
+import de.featjar.evaluation.interactionfinder.FinderEvents.UpdateEvent;
+import de.featjar.evaluation.interactionfinder.FinderEvents.VerificationEvent;
+import java.util.Optional;
+
+/**
+ * Decorators that emit {@link FinderEvents} for each verification and update.
+ */
+public final class RecordingDecorators {
+
+    private RecordingDecorators() {}
+
+    public static ConfigurationVerifyer recordVerifier(ConfigurationVerifyer verifier) {
+        return configuration -> {
+            final VerificationEvent event = new VerificationEvent();
+            if (!event.isEnabled()) {
+                return verifier.test(configuration);
+            }
+            event.begin();
+            final int result = verifier.test(configuration);
+            event.end();
+            if (event.shouldCommit()) {
+                event.selectedCount = Configurations.countSelected(configuration);
+                event.result = result;
+                event.commit();
+            }
+            return result;
+        };
+    }
+
+    public static ConfigurationUpdater recordUpdater(ConfigurationUpdater updater) {
+        return partial -> {
+            final UpdateEvent event = new UpdateEvent();
+            if (!event.isEnabled()) {
+                return updater.update(partial);
+            }
+            event.begin();
+            final Optional<LiteralList> result = updater.update(partial);
+            event.end();
+            if (event.shouldCommit()) {
+                event.method = "update";
+                event.success = result.isPresent();
+                event.commit();
+            }
+            return result;
+        };
+    }
+}
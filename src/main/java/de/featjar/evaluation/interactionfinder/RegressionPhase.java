@@ -0,0 +1,359 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import de.featjar.evaluation.EvaluationPhase;
+import de.featjar.evaluation.Evaluator;
+import de.featjar.util.io.csv.CSVWriter;
+import de.featjar.util.logging.Logger;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the results of the current evaluation with a baseline result
+ * directory. For each cell (model, algorithm, t, interaction size, and limits)
+ * and metric, a one-sided Mann-Whitney U test checks whether the current
+ * values are larger than the baseline values. A cell regresses if the test is
+ * significant and the ratio of the medians exceeds the configured threshold.
+ * A cell also regresses if the share of its runs that failed or timed out
+ * increases (metric FailedRuns, with the shares in the median columns), or if
+ * it is missing in the current results. A missing or unreadable baseline
+ * counts as a regression, too. The evaluation terminates with
+ * {@link #REGRESSION_EXIT_CODE} if there is any regression (see
+ * {@link InteractionFinderEvaluator#run(java.util.List)}).
+ */
+public class RegressionPhase implements EvaluationPhase {
+
+    public static final int REGRESSION_EXIT_CODE = 2;
+
+    private static final String[] CELL_COLUMNS = {
+        "T", "InteractionSize", "ConfigurationVerificationLimit", "ConfigurationCreationLimit"
+    };
+    private static final String[] METRIC_COLUMNS = {"Time", "ConfigurationVerificationCount"};
+    private static final String FAILED_RUNS_METRIC = "FailedRuns";
+
+    /**
+     * Results of all runs of a cell.
+     */
+    private static class CellResult {
+        final Map<String, List<Double>> metrics = new HashMap<>();
+        int runCount, failedRunCount;
+
+        double getFailedRunShare() {
+            return runCount == 0 ? 0 : (double) failedRunCount / runCount;
+        }
+    }
+
+    private String cell, metric;
+    private int baselineCount, currentCount;
+    private double baselineMedian, currentMedian, ratio, pValue;
+    private boolean regression;
+
+    @Override
+    public void run(Evaluator evaluator) {
+        final InteractionFinderEvaluator interactionFinderEvaluator = (InteractionFinderEvaluator) evaluator;
+        final String baselinePathString = interactionFinderEvaluator.regressionBaselineProperty.getValue();
+        if (baselinePathString.isEmpty()) {
+            Logger.logInfo("No regression baseline given");
+            return;
+        }
+        final double threshold = interactionFinderEvaluator.regressionThresholdProperty.getValue();
+        final double alpha = interactionFinderEvaluator.regressionAlphaProperty.getValue();
+
+        final Map<String, CellResult> baseline;
+        final Map<String, CellResult> current;
+        try {
+            baseline = readResults(Paths.get(baselinePathString));
+            current = readResults(evaluator.outputPath);
+        } catch (IOException e) {
+            Logger.logError(e);
+            Logger.logError("Cannot compare against " + baselinePathString);
+            interactionFinderEvaluator.regressionCount++;
+            return;
+        }
+
+        final CSVWriter regressionWriter = evaluator.addCSVWriter(
+                "regression.csv",
+                "Cell",
+                "Metric",
+                "BaselineCount",
+                "CurrentCount",
+                "BaselineMedian",
+                "CurrentMedian",
+                "Ratio",
+                "PValue",
+                "Regression");
+        regressionWriter.setLineWriter(this::writeRegression);
+
+        final List<String> report = new ArrayList<>();
+        int regressionCount = 0;
+        final Set<String> cells = new LinkedHashSet<>(current.keySet());
+        cells.addAll(baseline.keySet());
+        for (String cellKey : cells) {
+            final CellResult baselineResult = baseline.get(cellKey);
+            final CellResult currentResult = current.get(cellKey);
+            if (baselineResult == null) {
+                report.add(String.format("%-60s missing in baseline", cellKey));
+                continue;
+            }
+            if (currentResult == null) {
+                report.add(String.format("%-60s missing in current  REGRESSION", cellKey));
+                regressionCount++;
+                continue;
+            }
+
+            cell = cellKey;
+            metric = FAILED_RUNS_METRIC;
+            baselineCount = baselineResult.runCount;
+            currentCount = currentResult.runCount;
+            baselineMedian = baselineResult.getFailedRunShare();
+            currentMedian = currentResult.getFailedRunShare();
+            ratio = baselineMedian > 0
+                    ? currentMedian / baselineMedian
+                    : currentMedian > 0 ? Double.POSITIVE_INFINITY : 1;
+            pValue = -1;
+            regression = currentMedian > baselineMedian;
+            regressionWriter.writeLine();
+            if (regression) {
+                regressionCount++;
+                report.add(String.format(
+                        "%-60s %-30s %12d -> %12d  REGRESSION",
+                        cellKey,
+                        FAILED_RUNS_METRIC,
+                        baselineResult.failedRunCount,
+                        currentResult.failedRunCount));
+            }
+
+            for (String metricName : METRIC_COLUMNS) {
+                final double[] baselineValues = toArray(baselineResult.metrics.get(metricName));
+                final double[] currentValues = toArray(currentResult.metrics.get(metricName));
+                if (baselineValues.length == 0 || currentValues.length == 0) {
+                    continue;
+                }
+                cell = cellKey;
+                metric = metricName;
+                baselineCount = baselineValues.length;
+                currentCount = currentValues.length;
+                baselineMedian = median(baselineValues);
+                currentMedian = median(currentValues);
+                ratio = baselineMedian > 0
+                        ? currentMedian / baselineMedian
+                        : currentMedian > 0 ? Double.POSITIVE_INFINITY : 1;
+                pValue = mannWhitneyGreater(currentValues, baselineValues);
+                regression = pValue < alpha && ratio > 1 + threshold;
+                regressionWriter.writeLine();
+                if (regression) {
+                    regressionCount++;
+                }
+                report.add(String.format(
+                        "%-60s %-30s %12.1f -> %12.1f  x%6.2f  p=%.4f%s",
+                        cellKey,
+                        metricName,
+                        baselineMedian,
+                        currentMedian,
+                        ratio,
+                        pValue,
+                        regression ? "  REGRESSION" : ""));
+            }
+        }
+
+        Logger.logInfo("Regression report (threshold " + threshold + ", alpha " + alpha + ")");
+        report.forEach(Logger::logInfo);
+        if (regressionCount > 0) {
+            Logger.logError(regressionCount + " regression(s) against " + baselinePathString);
+            interactionFinderEvaluator.regressionCount += regressionCount;
+            return;
+        }
+        Logger.logInfo("No regressions against " + baselinePathString);
+    }
+
+    private void writeRegression(CSVWriter csvWriter) {
+        csvWriter.addValue(cell);
+        csvWriter.addValue(metric);
+        csvWriter.addValue(baselineCount);
+        csvWriter.addValue(currentCount);
+        csvWriter.addValue(baselineMedian);
+        csvWriter.addValue(currentMedian);
+        csvWriter.addValue(ratio);
+        csvWriter.addValue(pValue);
+        csvWriter.addValue(regression ? "T" : "F");
+    }
+
+    /**
+     * Reads the runData.csv file of a result directory and groups the metric
+     * values and failed runs by cell.
+     *
+     * @param resultPath the result directory
+     * @return the results per cell
+     * @throws IOException if a file cannot be read
+     */
+    private static Map<String, CellResult> readResults(Path resultPath) throws IOException {
+        final Map<String, CellResult> results = new LinkedHashMap<>();
+        final Path runDataPath = resultPath.resolve("runData.csv");
+        if (!Files.exists(runDataPath)) {
+            throw new IOException("No runData.csv in " + resultPath);
+        }
+        final Map<String, String> modelNames = readNames(runDataPath.resolveSibling("models.csv"), "ModelID");
+        final Map<String, String> algorithmNames =
+                readNames(runDataPath.resolveSibling("algorithms.csv"), "AlgorithmID");
+        final List<String[]> rows = readCSV(runDataPath);
+        final List<String> header = Arrays.asList(rows.get(0));
+        final int modelColumn = header.indexOf("ModelID");
+        final int algorithmColumn = header.indexOf("AlgorithmID");
+        final int statusColumn = header.indexOf("Status");
+        final int[] cellColumns = Arrays.stream(CELL_COLUMNS).mapToInt(header::indexOf).toArray();
+        for (String[] row : rows.subList(1, rows.size())) {
+            final StringBuilder cellKey = new StringBuilder();
+            cellKey.append(modelNames.getOrDefault(row[modelColumn], row[modelColumn]));
+            cellKey.append('_');
+            cellKey.append(algorithmNames.getOrDefault(row[algorithmColumn], row[algorithmColumn]));
+            for (int column : cellColumns) {
+                cellKey.append('_');
+                cellKey.append(column < 0 ? "" : row[column]);
+            }
+            final CellResult result = results.computeIfAbsent(cellKey.toString(), k -> new CellResult());
+            result.runCount++;
+            if (statusColumn >= 0 && isFailed(row[statusColumn])) {
+                result.failedRunCount++;
+            }
+            for (String metricName : METRIC_COLUMNS) {
+                final int column = header.indexOf(metricName);
+                if (column >= 0) {
+                    try {
+                        final double value = Double.parseDouble(row[column]);
+                        if (value >= 0) {
+                            result.metrics.computeIfAbsent(metricName, k -> new ArrayList<>()).add(value);
+                        }
+                    } catch (NumberFormatException e) {
+                        // no value for failed runs
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private static boolean isFailed(String status) {
+        return RunResult.Status.Failed.name().equals(status) || RunResult.Status.Timeout.name().equals(status);
+    }
+
+    private static Map<String, String> readNames(Path csvPath, String idColumn) throws IOException {
+        final Map<String, String> names = new HashMap<>();
+        if (Files.exists(csvPath)) {
+            final List<String[]> rows = readCSV(csvPath);
+            final List<String> header = Arrays.asList(rows.get(0));
+            final int idIndex = header.indexOf(idColumn);
+            final int nameIndex = header.indexOf("Name");
+            for (String[] row : rows.subList(1, rows.size())) {
+                names.put(row[idIndex], row[nameIndex]);
+            }
+        }
+        return names;
+    }
+
+    private static List<String[]> readCSV(Path csvPath) throws IOException {
+        return Files.readAllLines(csvPath).stream()
+                .filter(line -> !line.isBlank())
+                .map(line -> line.split(";", -1))
+                .collect(Collectors.toList());
+    }
+
+    private static double[] toArray(List<Double> values) {
+        return values == null ? new double[0] : values.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    private static double median(double[] values) {
+        final double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        final int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    /**
+     * One-sided Mann-Whitney U test with normal approximation, tie correction,
+     * and continuity correction.
+     *
+     * @param x the sample that is assumed to be larger
+     * @param y the other sample
+     * @return the p-value for the hypothesis that x is stochastically greater
+     *         than y
+     */
+    static double mannWhitneyGreater(double[] x, double[] y) {
+        final int n1 = x.length;
+        final int n2 = y.length;
+        final int n = n1 + n2;
+        final double[][] values = new double[n][];
+        for (int i = 0; i < n1; i++) {
+            values[i] = new double[] {x[i], 0};
+        }
+        for (int i = 0; i < n2; i++) {
+            values[n1 + i] = new double[] {y[i], 1};
+        }
+        Arrays.sort(values, (a, b) -> Double.compare(a[0], b[0]));
+
+        double rankSumX = 0;
+        double tieSum = 0;
+        for (int i = 0; i < n; ) {
+            int j = i;
+            while (j < n && values[j][0] == values[i][0]) {
+                j++;
+            }
+            final double rank = (i + 1 + j) / 2.0;
+            for (int k = i; k < j; k++) {
+                if (values[k][1] == 0) {
+                    rankSumX += rank;
+                }
+            }
+            final double tieCount = j - i;
+            tieSum += tieCount * tieCount * tieCount - tieCount;
+            i = j;
+        }
+
+        final double u = rankSumX - n1 * (n1 + 1) / 2.0;
+        final double mean = n1 * (double) n2 / 2;
+        final double variance = n1 * (double) n2 / 12 * ((n + 1) - tieSum / (n * (double) (n - 1)));
+        if (variance <= 0) {
+            return 1;
+        }
+        final double z = (u - mean - 0.5) / Math.sqrt(variance);
+        return 1 - normalCDF(z);
+    }
+
+    private static double normalCDF(double z) {
+        final double x = Math.abs(z) / Math.sqrt(2);
+        final double t = 1 / (1 + 0.3275911 * x);
+        final double polynomial =
+                t * (0.254829592 + t * (-0.284496736 + t * (1.421413741 + t * (-1.453152027 + t * 1.061405429))));
+        final double erf = 1 - polynomial * Math.exp(-x * x);
+        return z >= 0 ? (1 + erf) / 2 : (1 - erf) / 2;
+    }
+}
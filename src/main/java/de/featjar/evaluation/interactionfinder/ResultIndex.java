@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import de.featjar.util.logging.Logger;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Index of the runs in previous result directories by their {@link RunKey}.
+ */
+public class ResultIndex {
+
+    public static final String RUN_KEY_COLUMN = "RunKey";
+
+    private final Map<String, Map<String, String>> rows = new HashMap<>();
+
+    /**
+     * Adds all runs of the runData.csv files in a result directory and its
+     * direct subdirectories. Runs without a key and failed runs are ignored.
+     * Later directories take precedence over earlier ones.
+     *
+     * @param resultPath the result directory
+     * @throws IOException if a file cannot be read
+     */
+    public void addResults(Path resultPath) throws IOException {
+        final List<Path> runDataPaths;
+        try (Stream<Path> paths = Files.walk(resultPath, 2)) {
+            runDataPaths = paths.filter(p -> p.getFileName().toString().equals("runData.csv"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        int count = 0;
+        for (Path runDataPath : runDataPaths) {
+            final List<String> lines = Files.readAllLines(runDataPath);
+            if (lines.isEmpty()) {
+                continue;
+            }
+            final String[] header = lines.get(0).split(";", -1);
+            final int keyColumn = Arrays.asList(header).indexOf(RUN_KEY_COLUMN);
+            if (keyColumn < 0) {
+                continue;
+            }
+            for (String line : lines.subList(1, lines.size())) {
+                final String[] values = line.split(";", -1);
+                if (values.length != header.length) {
+                    continue;
+                }
+                final Map<String, String> row = new LinkedHashMap<>();
+                for (int i = 0; i < header.length; i++) {
+                    row.put(header[i], values[i]);
+                }
+                if (!RunResult.Status.Failed.name().equals(row.get("Status"))) {
+                    rows.put(values[keyColumn], row);
+                    count++;
+                }
+            }
+        }
+        Logger.logInfo("Indexed " + count + " runs in " + resultPath);
+    }
+
+    /**
+     * @param runKey the key of a run
+     * @return the column values of the run by column name or {@code null}, if
+     *         the run is not in the index
+     */
+    public Map<String, String> get(String runKey) {
+        return rows.get(runKey);
+    }
+
+    public int size() {
+        return rows.size();
+    }
+}
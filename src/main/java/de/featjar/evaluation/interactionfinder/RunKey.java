@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Content-addressed key of a single run. Two runs have the same key if they
+ * use the same model content, seed, workload content, algorithm, t,
+ * iteration, runner jar, and options that affect the result, so the result of
+ * one can be used for the other.
+ */
+public final class RunKey {
+
+    private static final int KEY_LENGTH = 16;
+
+    private RunKey() {}
+
+    /**
+     * Computes the key from the given parts. The parts are separated, so that
+     * different splits of the same characters result in different keys.
+     *
+     * @param parts the parts of the key
+     * @return the key as hex string
+     */
+    public static String of(Object... parts) {
+        final MessageDigest digest = createDigest();
+        for (Object part : parts) {
+            final byte[] bytes = String.valueOf(part).getBytes(StandardCharsets.UTF_8);
+            digest.update(bytes);
+            digest.update((byte) 0);
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Computes the key of a file's content.
+     *
+     * @param path the file
+     * @return the key as hex string
+     * @throws IOException if the file cannot be read
+     */
+    public static String of(Path path) throws IOException {
+        final MessageDigest digest = createDigest();
+        final byte[] buffer = new byte[1 << 16];
+        try (InputStream in = Files.newInputStream(path)) {
+            for (int length = in.read(buffer); length >= 0; length = in.read(buffer)) {
+                digest.update(buffer, 0, length);
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] hash) {
+        final StringBuilder sb = new StringBuilder(2 * KEY_LENGTH);
+        for (int i = 0; i < KEY_LENGTH; i++) {
+            sb.append(Character.forDigit((hash[i] >>> 4) & 0xF, 16));
+            sb.append(Character.forDigit(hash[i] & 0xF, 16));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Exit code and result files of a {@link RunTask}.
+ */
+public class RunOutput {
+
+    /**
+     * Exit code for tasks that could not be executed at all.
+     */
+    public static final int FAILED_EXIT_CODE = -2;
+
+    final int exitCode;
+    final int heapSize;
+    long spawnTimeInNS;
+    final Map<String, byte[]> files = new LinkedHashMap<>();
+
+    public RunOutput(int exitCode, int heapSize) {
+        this.exitCode = exitCode;
+        this.heapSize = heapSize;
+    }
+
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    /**
+     * @return the heap size of the runner in MB (after a possible retry)
+     */
+    public int getHeapSize() {
+        return heapSize;
+    }
+
+    /**
+     * @return the time it took to start the runner process(es) in ns
+     */
+    public long getSpawnTimeInNS() {
+        return spawnTimeInNS;
+    }
+
+    /**
+     * Parses the result of a run.
+     *
+     * @param fileName the name of the result file
+     * @return the result or {@code null}, if there is no such file
+     */
+    public RunResult getResult(String fileName) {
+        final byte[] content = files.get(fileName);
+        return content == null
+                ? null
+                : RunResult.parse(Arrays.asList(new String(content, StandardCharsets.UTF_8).split("\n")));
+    }
+
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(exitCode);
+        out.writeInt(heapSize);
+        out.writeLong(spawnTimeInNS);
+        out.writeInt(files.size());
+        for (Map.Entry<String, byte[]> file : files.entrySet()) {
+            RunTask.writeString(out, file.getKey());
+            RunTask.writeBytes(out, file.getValue());
+        }
+    }
+
+    static RunOutput read(DataInputStream in) throws IOException {
+        final RunOutput output = new RunOutput(in.readInt(), in.readInt());
+        output.spawnTimeInNS = in.readLong();
+        final int fileCount = in.readInt();
+        for (int i = 0; i < fileCount; i++) {
+            output.files.put(RunTask.readString(in), RunTask.readBytes(in));
+        }
+        return output;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import de.featjar.util.logging.Logger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Processes items on worker threads and writes them in submission order. At
+ * most a fixed number of items can be pending; further submissions block until
+ * the oldest pending item was written. Without worker threads, items are
+ * processed and written directly on submission.
+ *
+ * @param <T> the type of the items
+ */
+public class RunPipeline<T> implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final Semaphore capacity;
+    private final Consumer<T> processor;
+    private final Consumer<T> writer;
+
+    private final Map<Long, T> processed = new HashMap<>();
+    private long submittedCount, writtenCount;
+    private long blockedCount, blockedTime;
+
+    /**
+     * @param threadCount the number of worker threads, {@code 0} processes items
+     *        on the submitting thread
+     * @param queueCapacity the maximum number of pending items
+     * @param processor processes an item (called concurrently)
+     * @param writer writes an item (called in submission order by one thread
+     *        at a time)
+     */
+    public RunPipeline(int threadCount, int queueCapacity, Consumer<T> processor, Consumer<T> writer) {
+        this.processor = processor;
+        this.writer = writer;
+        if (threadCount > 0) {
+            executor = Executors.newFixedThreadPool(threadCount, runnable -> {
+                final Thread thread = new Thread(runnable, "run-post-processing");
+                thread.setDaemon(true);
+                return thread;
+            });
+            capacity = new Semaphore(Math.max(1, queueCapacity));
+        } else {
+            executor = null;
+            capacity = null;
+        }
+    }
+
+    /**
+     * Submits an item. Blocks while the maximum number of items is pending.
+     *
+     * @param item the item
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void submit(T item) throws InterruptedException {
+        if (executor == null) {
+            processor.accept(item);
+            writer.accept(item);
+            return;
+        }
+        if (!capacity.tryAcquire()) {
+            final long startTime = System.nanoTime();
+            capacity.acquire();
+            synchronized (this) {
+                blockedCount++;
+                blockedTime += System.nanoTime() - startTime;
+            }
+        }
+        final long sequenceNumber;
+        synchronized (this) {
+            sequenceNumber = submittedCount++;
+        }
+        executor.execute(() -> {
+            try {
+                processor.accept(item);
+            } catch (Exception e) {
+                Logger.logError(e);
+            }
+            complete(sequenceNumber, item);
+        });
+    }
+
+    private synchronized void complete(long sequenceNumber, T item) {
+        processed.put(sequenceNumber, item);
+        for (T next = processed.remove(writtenCount); next != null; next = processed.remove(writtenCount)) {
+            try {
+                writer.accept(next);
+            } catch (Exception e) {
+                Logger.logError(e);
+            }
+            writtenCount++;
+            capacity.release();
+        }
+        notifyAll();
+    }
+
+    /**
+     * Waits until all submitted items are written.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public synchronized void flush() throws InterruptedException {
+        while (writtenCount < submittedCount) {
+            wait();
+        }
+    }
+
+    /**
+     * @return how often a submission had to wait for the post-processing
+     */
+    public synchronized long getBlockedCount() {
+        return blockedCount;
+    }
+
+    /**
+     * @return the total time in ms that submissions waited for the
+     *         post-processing
+     */
+    public synchronized long getBlockedTime() {
+        return blockedTime / 1_000_000;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        flush();
+        if (executor != null) {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import de.featjar.clauses.LiteralList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Snapshot of a run that {@link FindingPhase} hands to its post-processing
+ * stage. It holds the pending output of the runner and everything else that is
+ * needed to evaluate the found interactions and to write the run's row in
+ * runData.csv.
+ */
+class RunRecord {
+
+    PreparedSystem system;
+    int systemID, systemIteration;
+    int algorithmIndex, algorithmIteration;
+    int t, interactionSize;
+    int verificationLimit, creationLimit;
+    List<LiteralList> faultyInteractions, faultyInteractionsUpdated;
+
+    long monitorID;
+    String algorithmName, systemName;
+    String outputFileName;
+    CompletableFuture<RunOutput> output;
+    PhaseTimer phaseTimer;
+
+    RunResult.Status status = RunResult.Status.Failed;
+    List<LiteralList> foundInteractions;
+    LiteralList foundInteractionsMerged, foundInteractionsMergedAndUpdated;
+    int verificationCounter, creationCounter, cachedVerificationCounter, cumulativeVerificationCounter;
+    long elapsedTimeInMS, peakHeapUsage, startupTimeInMS, cumulativeTimeInMS;
+    int heapSize;
+    boolean cds;
+    String winner;
+
+    String runKey;
+    Map<String, String> reusedRow;
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import de.featjar.clauses.LiteralList;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of a single interaction finder run as exchanged between
+ * {@link InteractionFinderRunner} and {@link FindingPhase}.
+ */
+public class RunResult {
+
+    public enum Status {
+        Completed,
+        VerificationBudgetExhausted,
+        CreationBudgetExhausted,
+        Timeout,
+        Failed
+    }
+
+    Status status = Status.Failed;
+    long elapsedTimeInMS = -1;
+    int verificationCounter = -1;
+    int creationCounter = -1;
+    long peakHeapUsage = -1;
+    long startupTimeInMS = -1;
+    int cachedVerificationCounter = 0;
+    int cumulativeVerificationCounter = -1;
+    long cumulativeTimeInMS = -1;
+    String winner;
+    List<LiteralList> foundInteractions;
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getElapsedTimeInMS() {
+        return elapsedTimeInMS;
+    }
+
+    public int getVerificationCounter() {
+        return verificationCounter;
+    }
+
+    public int getCreationCounter() {
+        return creationCounter;
+    }
+
+    /**
+     * @return the peak heap usage while the finder ran for this t
+     */
+    public long getPeakHeapUsage() {
+        return peakHeapUsage;
+    }
+
+    /**
+     * @return the time from the start of the JVM until the finder started, 0
+     *         for all but the first t of an incremental run
+     */
+    public long getStartupTimeInMS() {
+        return startupTimeInMS;
+    }
+
+    /**
+     * @return the number of verifications that were answered from the results
+     *         of runs with a lower t in the same session
+     */
+    public int getCachedVerificationCounter() {
+        return cachedVerificationCounter;
+    }
+
+    /**
+     * @return the number of verifications of this and all previous runs in the
+     *         same session that were not answered from the cache
+     */
+    public int getCumulativeVerificationCounter() {
+        return cumulativeVerificationCounter;
+    }
+
+    /**
+     * @return the time of this and all previous runs in the same session
+     */
+    public long getCumulativeTimeInMS() {
+        return cumulativeTimeInMS;
+    }
+
+    /**
+     * @return the name of the finder that won a portfolio run or {@code null}
+     */
+    public String getWinner() {
+        return winner;
+    }
+
+    /**
+     * @return the found interactions, the candidate interactions narrowed down
+     *         so far if a budget was exhausted, or {@code null}
+     */
+    public List<LiteralList> getFoundInteractions() {
+        return foundInteractions;
+    }
+
+    public void write(Path outputPath) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        sb.append(status);
+        sb.append("\n");
+        sb.append(elapsedTimeInMS);
+        sb.append("\n");
+        sb.append(verificationCounter);
+        sb.append("\n");
+        sb.append(creationCounter);
+        sb.append("\n");
+        sb.append(peakHeapUsage);
+        sb.append("\n");
+        sb.append(startupTimeInMS);
+        sb.append("\n");
+        sb.append(cachedVerificationCounter);
+        sb.append("\n");
+        sb.append(cumulativeVerificationCounter);
+        sb.append("\n");
+        sb.append(cumulativeTimeInMS);
+        sb.append("\n");
+        sb.append(winner);
+        sb.append("\n");
+        if (foundInteractions != null) {
+            for (LiteralList foundInteraction : foundInteractions) {
+                for (int l : foundInteraction.getLiterals()) {
+                    sb.append(l);
+                    sb.append(";");
+                }
+                sb.replace(sb.length() - 1, sb.length(), "\n");
+            }
+            sb.delete(sb.length() - 1, sb.length());
+        } else {
+            sb.append("null");
+        }
+        Files.writeString(outputPath, sb.toString());
+    }
+
+    /**
+     * @param outputPath the output path of a session
+     * @param t the t of a run in the session
+     * @return the output path of the run with the given t
+     */
+    public static Path getPath(Path outputPath, int t) {
+        return outputPath.resolveSibling(outputPath.getFileName() + "_t" + t);
+    }
+
+    public static RunResult read(Path outputPath) throws IOException {
+        return parse(Files.readAllLines(outputPath));
+    }
+
+    public static RunResult parse(List<String> lines) {
+        String[] results = lines.toArray(String[]::new);
+        RunResult result = new RunResult();
+        result.status = Status.valueOf(results[0]);
+        result.elapsedTimeInMS = Long.parseLong(results[1]);
+        result.verificationCounter = Integer.parseInt(results[2]);
+        result.creationCounter = Integer.parseInt(results[3]);
+        result.peakHeapUsage = Long.parseLong(results[4]);
+        result.startupTimeInMS = Long.parseLong(results[5]);
+        result.cachedVerificationCounter = Integer.parseInt(results[6]);
+        result.cumulativeVerificationCounter = Integer.parseInt(results[7]);
+        result.cumulativeTimeInMS = Long.parseLong(results[8]);
+        result.winner = "null".equals(results[9]) ? null : results[9];
+
+        if ("null".equals(results[10])) {
+            result.foundInteractions = null;
+        } else {
+            result.foundInteractions = new ArrayList<>(results.length - 10);
+            for (int i = 10; i < results.length; i++) {
+                result.foundInteractions.add(InteractionFinderRunner.parseLiteralList(results[i]));
+            }
+        }
+        return result;
+    }
+}
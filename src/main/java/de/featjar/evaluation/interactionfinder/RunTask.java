@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A single start of the {@link InteractionFinderRunner} as executed by a
+ * {@link RunExecutor}. The runner arguments do not include the paths of the
+ * model, the sample, and the output, which are chosen by the executor. The
+ * executor creates the output directories before starting the runner, as it
+ * may run on another host than the evaluator.
+ */
+public class RunTask {
+
+    long id;
+    String cellKey;
+    List<String> jvmOptions = new ArrayList<>();
+    List<String> arguments = new ArrayList<>();
+    List<String> outputDirectories = new ArrayList<>();
+    Map<String, String> environment = new LinkedHashMap<>();
+    List<Integer> tValues = new ArrayList<>();
+    int heapSize, retryHeapSize;
+    long timeout;
+
+    String modelKey;
+    String sampleFileName;
+    Path modelPath, samplePath;
+    byte[] model, sample;
+
+    /**
+     * Writes this task. The model is only included if requested, so that it is
+     * only sent once to each agent.
+     *
+     * @param out the output
+     * @param includeModel whether to include the model
+     * @throws IOException if the task cannot be written
+     */
+    void write(DataOutputStream out, boolean includeModel) throws IOException {
+        out.writeLong(id);
+        writeString(out, cellKey);
+        writeStrings(out, jvmOptions);
+        writeStrings(out, arguments);
+        writeStrings(out, outputDirectories);
+        out.writeInt(environment.size());
+        for (Map.Entry<String, String> entry : environment.entrySet()) {
+            writeString(out, entry.getKey());
+            writeString(out, entry.getValue());
+        }
+        out.writeInt(tValues.size());
+        for (int t : tValues) {
+            out.writeInt(t);
+        }
+        out.writeInt(heapSize);
+        out.writeInt(retryHeapSize);
+        out.writeLong(timeout);
+        writeString(out, modelKey);
+        writeString(out, sampleFileName);
+        writeBytes(out, includeModel ? loadModel() : null);
+        writeBytes(out, sample != null ? sample : Files.readAllBytes(samplePath));
+    }
+
+    static RunTask read(DataInputStream in) throws IOException {
+        final RunTask task = new RunTask();
+        task.id = in.readLong();
+        task.cellKey = readString(in);
+        task.jvmOptions = readStrings(in);
+        task.arguments = readStrings(in);
+        task.outputDirectories = readStrings(in);
+        final int environmentSize = in.readInt();
+        for (int i = 0; i < environmentSize; i++) {
+            task.environment.put(readString(in), readString(in));
+        }
+        final int tCount = in.readInt();
+        for (int i = 0; i < tCount; i++) {
+            task.tValues.add(in.readInt());
+        }
+        task.heapSize = in.readInt();
+        task.retryHeapSize = in.readInt();
+        task.timeout = in.readLong();
+        task.modelKey = readString(in);
+        task.sampleFileName = readString(in);
+        task.model = readBytes(in);
+        task.sample = readBytes(in);
+        return task;
+    }
+
+    private byte[] loadModel() throws IOException {
+        return model != null ? model : Files.readAllBytes(modelPath);
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        writeBytes(out, value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        final byte[] bytes = readBytes(in);
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        if (bytes == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    static byte[] readBytes(DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        final int size = in.readInt();
+        final List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import java.util.List;
+
+/**
+ * A single run within the parameter grid of a sweep (i.e., all parameters of
+ * a run except for the system and the system iteration).
+ */
+public class SweepCell {
+
+    /**
+     * Names of the parameters that {@link SweepConstraint constraints} can
+     * refer to.
+     */
+    public static final List<String> PARAMETERS = List.of(
+            "t",
+            "interactionSize",
+            "interactionCount",
+            "fpNoise",
+            "fnNoise",
+            "configVerificationLimit",
+            "configCreationLimit",
+            "algorithmIteration");
+
+    final int interactionSize, interactionCount;
+    final double fpNoise, fnNoise;
+    final int verificationLimit, creationLimit;
+    final int algorithmIndex;
+    final String algorithmName;
+    final int t;
+    final int algorithmIteration;
+
+    public SweepCell(
+            int interactionSize,
+            int interactionCount,
+            double fpNoise,
+            double fnNoise,
+            int verificationLimit,
+            int creationLimit,
+            int algorithmIndex,
+            String algorithmName,
+            int t,
+            int algorithmIteration) {
+        this.interactionSize = interactionSize;
+        this.interactionCount = interactionCount;
+        this.fpNoise = fpNoise;
+        this.fnNoise = fnNoise;
+        this.verificationLimit = verificationLimit;
+        this.creationLimit = creationLimit;
+        this.algorithmIndex = algorithmIndex;
+        this.algorithmName = algorithmName;
+        this.t = t;
+        this.algorithmIteration = algorithmIteration;
+    }
+
+    /**
+     * @param other another cell
+     * @return whether both cells use the same faulty configurations and
+     *         interactions
+     */
+    public boolean hasSameWorkload(SweepCell other) {
+        return interactionSize == other.interactionSize && interactionCount == other.interactionCount;
+    }
+
+    /**
+     * @param other another cell
+     * @return whether both cells only differ in t and the algorithm iteration
+     */
+    public boolean hasSameAlgorithm(SweepCell other) {
+        return hasSameWorkload(other)
+                && fpNoise == other.fpNoise
+                && fnNoise == other.fnNoise
+                && verificationLimit == other.verificationLimit
+                && creationLimit == other.creationLimit
+                && algorithmIndex == other.algorithmIndex;
+    }
+
+    /**
+     * @param other another cell
+     * @return whether both cells only differ in t
+     */
+    public boolean hasSameSession(SweepCell other) {
+        return hasSameAlgorithm(other) && algorithmIteration == other.algorithmIteration;
+    }
+
+    /**
+     * Returns the value of a parameter for evaluating {@link SweepConstraint
+     * constraints}.
+     *
+     * @param name the name of the parameter
+     * @return the value of the parameter
+     */
+    public double getValue(String name) {
+        switch (name) {
+            case "t":
+                return t;
+            case "interactionSize":
+                return interactionSize;
+            case "interactionCount":
+                return interactionCount;
+            case "fpNoise":
+                return fpNoise;
+            case "fnNoise":
+                return fnNoise;
+            case "configVerificationLimit":
+                return verificationLimit;
+            case "configCreationLimit":
+                return creationLimit;
+            case "algorithmIteration":
+                return algorithmIteration;
+            default:
+                throw new IllegalArgumentException("Unknown parameter " + name);
+        }
+    }
+}
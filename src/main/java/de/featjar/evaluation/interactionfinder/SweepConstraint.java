@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A comparison between two sums of parameters and numbers that each planned
+ * {@link SweepCell} must satisfy, such as {@code t<=interactionSize+1} or
+ * {@code interactionSize>0}.
+ */
+public class SweepConstraint {
+
+    private static final Pattern COMPARISON = Pattern.compile("(.+?)(<=|>=|==|!=|<|>)(.+)");
+    private static final Pattern TERM = Pattern.compile("([+-]?)([^+-]+)");
+
+    private static class Term {
+        final double sign;
+        final String parameter;
+        final double value;
+
+        Term(double sign, String parameter, double value) {
+            this.sign = sign;
+            this.parameter = parameter;
+            this.value = value;
+        }
+
+        double evaluate(SweepCell cell) {
+            return sign * (parameter != null ? cell.getValue(parameter) : value);
+        }
+    }
+
+    private final String text;
+    private final String operator;
+    private final List<Term> left, right;
+
+    private SweepConstraint(String text, String operator, List<Term> left, List<Term> right) {
+        this.text = text;
+        this.operator = operator;
+        this.left = left;
+        this.right = right;
+    }
+
+    public static SweepConstraint parse(String text) {
+        final Matcher matcher = COMPARISON.matcher(text.replaceAll("\\s", ""));
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Invalid sweep constraint " + text);
+        }
+        return new SweepConstraint(
+                text, matcher.group(2), parseSum(matcher.group(1), text), parseSum(matcher.group(3), text));
+    }
+
+    private static List<Term> parseSum(String sum, String text) {
+        final List<Term> terms = new ArrayList<>();
+        final Matcher matcher = TERM.matcher(sum);
+        while (matcher.find()) {
+            final double sign = "-".equals(matcher.group(1)) ? -1 : 1;
+            final String token = matcher.group(2);
+            if (Character.isDigit(token.charAt(0)) || token.charAt(0) == '.') {
+                terms.add(new Term(sign, null, Double.parseDouble(token)));
+            } else if (SweepCell.PARAMETERS.contains(token)) {
+                terms.add(new Term(sign, token, 0));
+            } else {
+                throw new IllegalArgumentException("Unknown parameter " + token + " in sweep constraint " + text);
+            }
+        }
+        return terms;
+    }
+
+    public boolean test(SweepCell cell) {
+        final double leftValue = evaluate(left, cell);
+        final double rightValue = evaluate(right, cell);
+        switch (operator) {
+            case "<=":
+                return leftValue <= rightValue;
+            case ">=":
+                return leftValue >= rightValue;
+            case "==":
+                return leftValue == rightValue;
+            case "!=":
+                return leftValue != rightValue;
+            case "<":
+                return leftValue < rightValue;
+            case ">":
+                return leftValue > rightValue;
+            default:
+                throw new IllegalStateException(operator);
+        }
+    }
+
+    private static double evaluate(List<Term> terms, SweepCell cell) {
+        double sum = 0;
+        for (Term term : terms) {
+            sum += term.evaluate(cell);
+        }
+        return sum;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
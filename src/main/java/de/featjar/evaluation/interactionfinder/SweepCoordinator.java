@@ -0,0 +1,245 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import de.featjar.util.logging.Logger;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out {@link RunTask}s to {@link WorkerAgent}s that connect over TCP.
+ * Idle agents take the next pending task, so faster hosts do more runs. A task
+ * whose agent disconnects or misses its heartbeats is put back at the front of
+ * the queue and executed by another agent. A task whose runner fails for other
+ * reasons than a timeout or a lack of memory is put back at the end of the
+ * queue, so that it is retried, preferably by another agent.
+ */
+public class SweepCoordinator implements RunExecutor {
+
+    static final byte HELLO = 1;
+    static final byte TASK = 2;
+    static final byte HEARTBEAT = 3;
+    static final byte RESULT = 4;
+    static final byte BYE = 5;
+
+    /**
+     * Number of times a task is handed to an agent before it counts as failed.
+     */
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final ServerSocket serverSocket;
+    private final long heartbeatTimeout;
+    private final LinkedBlockingDeque<RunTask> pendingTasks = new LinkedBlockingDeque<>();
+    private final Map<Long, CompletableFuture<RunOutput>> futures = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> attempts = new ConcurrentHashMap<>();
+    private final AtomicLong taskIDs = new AtomicLong();
+    private final Thread acceptThread;
+    private volatile boolean closed;
+
+    private String modelKey;
+    private byte[] model;
+
+    /**
+     * @param port the port to listen on
+     * @param heartbeatTimeout the time in ms after which an agent without
+     *            heartbeat counts as lost, must be longer than the heartbeat
+     *            interval of the agents
+     * @throws IOException if the port cannot be opened
+     */
+    public SweepCoordinator(int port, long heartbeatTimeout) throws IOException {
+        if (heartbeatTimeout <= WorkerAgent.HEARTBEAT_INTERVAL) {
+            throw new IllegalArgumentException("Heartbeat timeout must be longer than "
+                    + WorkerAgent.HEARTBEAT_INTERVAL + "ms, was " + heartbeatTimeout + "ms");
+        }
+        this.heartbeatTimeout = heartbeatTimeout;
+        serverSocket = new ServerSocket(port);
+        acceptThread = new Thread(this::acceptAgents, "coordinator");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+        Logger.logInfo("Coordinator listening on port " + serverSocket.getLocalPort());
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    @Override
+    public CompletableFuture<RunOutput> execute(RunTask task) {
+        try {
+            synchronized (this) {
+                if (!task.modelKey.equals(modelKey)) {
+                    model = Files.readAllBytes(task.modelPath);
+                    modelKey = task.modelKey;
+                }
+                task.model = model;
+            }
+            task.sample = Files.readAllBytes(task.samplePath);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        task.id = taskIDs.incrementAndGet();
+        final CompletableFuture<RunOutput> future = new CompletableFuture<>();
+        futures.put(task.id, future);
+        pendingTasks.addLast(task);
+        return future;
+    }
+
+    private void acceptAgents() {
+        while (!closed) {
+            try {
+                final Socket socket = serverSocket.accept();
+                final Thread agentThread = new Thread(() -> serveAgent(socket), "agent-" + socket.getPort());
+                agentThread.setDaemon(true);
+                agentThread.start();
+            } catch (SocketException e) {
+                if (!closed) {
+                    Logger.logError(e);
+                }
+            } catch (IOException e) {
+                Logger.logError(e);
+            }
+        }
+    }
+
+    private void serveAgent(Socket socket) {
+        String agentName = String.valueOf(socket.getRemoteSocketAddress());
+        String sentModelKey = null;
+        RunTask task = null;
+        try (socket;
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            socket.setSoTimeout((int) heartbeatTimeout);
+            if (in.readByte() != HELLO) {
+                throw new IOException("Expected HELLO");
+            }
+            agentName = in.readUTF() + " (" + agentName + ")";
+            Logger.logInfo("Agent " + agentName + " connected");
+            while (!closed) {
+                task = pendingTasks.poll(1, TimeUnit.SECONDS);
+                if (task == null) {
+                    continue;
+                }
+                out.writeByte(TASK);
+                task.write(out, !task.modelKey.equals(sentModelKey));
+                out.flush();
+                sentModelKey = task.modelKey;
+                byte message;
+                while ((message = in.readByte()) == HEARTBEAT) {}
+                if (message != RESULT) {
+                    throw new IOException("Expected RESULT");
+                }
+                final long id = in.readLong();
+                if (id != task.id) {
+                    throw new IOException("Result for unexpected task " + id);
+                }
+                final RunOutput output = RunOutput.read(in);
+                final RunTask finishedTask = task;
+                task = null;
+                if (isRetryable(output)) {
+                    Logger.logError("Runner for " + finishedTask.cellKey + " failed on agent " + agentName
+                            + " with exit code " + output.getExitCode());
+                    retry(finishedTask, output, false);
+                } else {
+                    complete(finishedTask, output);
+                }
+            }
+            out.writeByte(BYE);
+            out.flush();
+        } catch (IOException e) {
+            Logger.logError("Lost agent " + agentName + ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (task != null) {
+                retry(task, new RunOutput(RunOutput.FAILED_EXIT_CODE, task.heapSize), true);
+            }
+        }
+    }
+
+    private static boolean isRetryable(RunOutput output) {
+        final int exitCode = output.getExitCode();
+        return exitCode != 0
+                && exitCode != LocalRunExecutor.TIMEOUT_EXIT_CODE
+                && exitCode != LocalRunExecutor.OUT_OF_MEMORY_EXIT_CODE;
+    }
+
+    /**
+     * Puts a task back into the queue or completes it with the given output
+     * if it has no attempts left.
+     *
+     * @param task the task
+     * @param output the output of the failed attempt
+     * @param first whether to put the task at the front of the queue
+     */
+    private void retry(RunTask task, RunOutput output, boolean first) {
+        final int attempt = attempts.merge(task.id, 1, Integer::sum);
+        if (attempt >= MAX_ATTEMPTS || closed) {
+            Logger.logError("Giving up " + task.cellKey + " after " + attempt + " attempts");
+            complete(task, output);
+        } else {
+            Logger.logInfo("Reassigning " + task.cellKey);
+            if (first) {
+                pendingTasks.addFirst(task);
+            } else {
+                pendingTasks.addLast(task);
+            }
+        }
+    }
+
+    private void complete(RunTask task, RunOutput output) {
+        attempts.remove(task.id);
+        final CompletableFuture<RunOutput> future = futures.remove(task.id);
+        if (future != null) {
+            future.complete(output);
+        }
+    }
+
+    /**
+     * Stops handing out tasks, tells idle agents to quit, and fails all tasks
+     * that are still pending.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            Logger.logError(e);
+        }
+        RunTask task;
+        while ((task = pendingTasks.poll()) != null) {
+            complete(task, new RunOutput(RunOutput.FAILED_EXIT_CODE, task.heapSize));
+        }
+    }
+}
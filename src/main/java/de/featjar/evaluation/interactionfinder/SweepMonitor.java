@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import de.featjar.util.logging.Logger;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Live progress of a sweep, readable via JMX (e.g., with jconsole) under
+ * {@value #OBJECT_NAME}.
+ */
+public class SweepMonitor implements SweepMonitorMBean {
+
+    public static final String OBJECT_NAME = "de.featjar.evaluation.interactionfinder:type=SweepMonitor";
+
+    private static final int TIMING_WINDOW_SIZE = 256;
+
+    private static class TimingWindow {
+        private final long[] times = new long[TIMING_WINDOW_SIZE];
+        private long count;
+
+        synchronized void add(long time) {
+            times[(int) (count++ % TIMING_WINDOW_SIZE)] = time;
+        }
+
+        synchronized String summarize(String name) {
+            final int size = (int) Math.min(count, TIMING_WINDOW_SIZE);
+            final long[] sorted = Arrays.copyOf(times, size);
+            Arrays.sort(sorted);
+            return String.format(
+                    "%s: n=%d, p50=%dms, p90=%dms, p99=%dms",
+                    name, count, percentile(sorted, 0.5), percentile(sorted, 0.9), percentile(sorted, 0.99));
+        }
+
+        private static long percentile(long[] sorted, double p) {
+            return sorted.length == 0 ? -1 : sorted[(int) Math.ceil(p * sorted.length) - 1];
+        }
+    }
+
+    private final AtomicLong runsTotal = new AtomicLong();
+    private final LongAdder runsCompleted = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final AtomicLong runIDs = new AtomicLong();
+    private final Map<Long, String> runsInFlight = new ConcurrentHashMap<>();
+    private final Map<String, TimingWindow> algorithmTimings = new ConcurrentHashMap<>();
+    private final Map<String, TimingWindow> modelTimings = new ConcurrentHashMap<>();
+    private final long startTime = System.nanoTime();
+
+    private ObjectName objectName;
+
+    public void register() {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            objectName = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(this, objectName);
+        } catch (JMException e) {
+            Logger.logError(e);
+        }
+    }
+
+    public void unregister() {
+        if (objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (JMException e) {
+                Logger.logError(e);
+            }
+            objectName = null;
+        }
+    }
+
+    public void addRuns(long runs) {
+        runsTotal.addAndGet(runs);
+    }
+
+    /**
+     * Marks a run as started.
+     *
+     * @param cellKey the description of the run
+     * @return an id to pass to
+     *         {@link #finishRun(long, String, String, long, RunResult.Status)}
+     */
+    public long startRun(String cellKey) {
+        final long id = runIDs.incrementAndGet();
+        runsInFlight.put(id, cellKey);
+        return id;
+    }
+
+    public void finishRun(long id, String algorithmName, String modelName, long timeInMS, RunResult.Status status) {
+        runsInFlight.remove(id);
+        runsCompleted.increment();
+        if (status == RunResult.Status.Timeout) {
+            timeoutCount.increment();
+        } else if (status == RunResult.Status.Failed) {
+            failureCount.increment();
+        }
+        if (timeInMS >= 0) {
+            algorithmTimings
+                    .computeIfAbsent(algorithmName, k -> new TimingWindow())
+                    .add(timeInMS);
+            modelTimings.computeIfAbsent(modelName, k -> new TimingWindow()).add(timeInMS);
+        }
+    }
+
+    @Override
+    public long getRunsTotal() {
+        return runsTotal.get();
+    }
+
+    @Override
+    public long getRunsCompleted() {
+        return runsCompleted.sum();
+    }
+
+    @Override
+    public long getRunsRemaining() {
+        return Math.max(0, getRunsTotal() - getRunsCompleted());
+    }
+
+    @Override
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    @Override
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    @Override
+    public double getRunsPerMinute() {
+        final double minutes = (System.nanoTime() - startTime) / 60_000_000_000.0;
+        return minutes > 0 ? getRunsCompleted() / minutes : 0;
+    }
+
+    @Override
+    public long getEstimatedSecondsRemaining() {
+        final double runsPerMinute = getRunsPerMinute();
+        return runsPerMinute > 0 ? Math.round(getRunsRemaining() / runsPerMinute * 60) : -1;
+    }
+
+    @Override
+    public String getEstimatedTimeRemaining() {
+        final long seconds = getEstimatedSecondsRemaining();
+        return seconds < 0 ? "unknown" : Duration.ofSeconds(seconds).toString();
+    }
+
+    @Override
+    public int getRunsInFlightCount() {
+        return runsInFlight.size();
+    }
+
+    @Override
+    public String[] getRunsInFlight() {
+        return runsInFlight.values().toArray(new String[0]);
+    }
+
+    @Override
+    public String[] getAlgorithmTimings() {
+        return summarize(algorithmTimings);
+    }
+
+    @Override
+    public String[] getModelTimings() {
+        return summarize(modelTimings);
+    }
+
+    private static String[] summarize(Map<String, TimingWindow> timings) {
+        return timings.entrySet().stream()
+                .sorted(Entry.comparingByKey())
+                .map(e -> e.getValue().summarize(e.getKey()))
+                .toArray(String[]::new);
+    }
+}
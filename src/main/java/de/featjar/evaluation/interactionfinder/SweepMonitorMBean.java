@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+/**
+ * Management interface of {@link SweepMonitor}.
+ */
+public interface SweepMonitorMBean {
+
+    long getRunsTotal();
+
+    long getRunsCompleted();
+
+    long getRunsRemaining();
+
+    long getFailureCount();
+
+    long getTimeoutCount();
+
+    double getRunsPerMinute();
+
+    long getEstimatedSecondsRemaining();
+
+    String getEstimatedTimeRemaining();
+
+    int getRunsInFlightCount();
+
+    String[] getRunsInFlight();
+
+    /**
+     * @return one line per algorithm with the number of runs and the 50th, 90th,
+     *         and 99th percentile of recent run times
+     */
+    String[] getAlgorithmTimings();
+
+    /**
+     * @return one line per model with the number of runs and the 50th, 90th, and
+     *         99th percentile of recent run times
+     */
+    String[] getModelTimings();
+}
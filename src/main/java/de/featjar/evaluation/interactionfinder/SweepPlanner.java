@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import de.featjar.util.logging.Logger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Expands the parameter grid of {@link InteractionFinderEvaluator} into the
+ * list of runs per system iteration. Runs that violate one of the
+ * {@link SweepConstraint constraints} are pruned, as are repetitions of
+ * deterministic algorithms without noise.
+ */
+public class SweepPlanner {
+
+    private final InteractionFinderEvaluator evaluator;
+    private final List<SweepConstraint> constraints;
+    private final List<String> deterministicAlgorithms;
+
+    private int gridSize;
+
+    public SweepPlanner(InteractionFinderEvaluator evaluator) {
+        this.evaluator = evaluator;
+        constraints = evaluator.constraintsProperty.getValue().stream()
+                .map(SweepConstraint::parse)
+                .collect(Collectors.toList());
+        deterministicAlgorithms = evaluator.deterministicAlgorithmsProperty.getValue();
+    }
+
+    /**
+     * Creates the runs in the order in which {@link FindingPhase} executes them.
+     * Runs with the same workload are adjacent.
+     *
+     * @return the planned runs
+     */
+    public List<SweepCell> plan() {
+        final List<SweepCell> cells = new ArrayList<>();
+        final List<String> algorithmNames = evaluator.algorithmsProperty.getValue();
+        gridSize = 0;
+        for (Integer interactionSize : evaluator.interactionSizeProperty.getValue()) {
+            for (Integer interactionCount : evaluator.interactionCountProperty.getValue()) {
+                for (Double fpNoise : evaluator.fpNoiseProperty.getValue()) {
+                    for (Double fnNoise : evaluator.fnNoiseProperty.getValue()) {
+                        for (Integer verificationLimit : evaluator.configVerificationLimitProperty.getValue()) {
+                            for (Integer creationLimit : evaluator.configCreationLimitProperty.getValue()) {
+                                for (int algorithmIndex = 0; algorithmIndex < algorithmNames.size(); algorithmIndex++) {
+                                    final String algorithmName = algorithmNames.get(algorithmIndex);
+                                    final boolean repeat = fpNoise != 0
+                                            || fnNoise != 0
+                                            || !deterministicAlgorithms.contains(algorithmName);
+                                    for (Integer t : evaluator.tProperty.getValue()) {
+                                        for (int algorithmIteration = 1;
+                                                algorithmIteration <= evaluator.algorithmIterations.getValue();
+                                                algorithmIteration++) {
+                                            gridSize++;
+                                            if (!repeat && algorithmIteration > 1) {
+                                                continue;
+                                            }
+                                            final SweepCell cell = new SweepCell(
+                                                    interactionSize,
+                                                    interactionCount,
+                                                    fpNoise,
+                                                    fnNoise,
+                                                    verificationLimit,
+                                                    creationLimit,
+                                                    algorithmIndex,
+                                                    algorithmName,
+                                                    t,
+                                                    algorithmIteration);
+                                            if (constraints.stream().allMatch(c -> c.test(cell))) {
+                                                cells.add(cell);
+                                            }
+                                        }
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Prints the number of planned runs and the share of each algorithm in
+     * their relative cost. The duration is only estimated as a worst case,
+     * if the runs have a timeout.
+     *
+     * @param cells the result of {@link #plan()}
+     */
+    public void logPlan(List<SweepCell> cells) {
+        final long runsPerSystem = (long) cells.size() * evaluator.systemIterations.getValue();
+        final long runs = runsPerSystem * evaluator.systemIndexMax;
+        final double pruned = gridSize == 0 ? 0 : 100.0 * (gridSize - cells.size()) / gridSize;
+        Logger.logInfo(String.format(
+                "Planned %d of %d runs per system iteration (%.1f%% pruned by %s)",
+                cells.size(), gridSize, pruned, constraints));
+        Logger.logInfo(String.format(
+                "Planned %d runs in total (%d systems x %d iterations)",
+                runs, evaluator.systemIndexMax, evaluator.systemIterations.getValue()));
+
+        final Map<String, Long> algorithmRuns = new LinkedHashMap<>();
+        final Map<String, Long> algorithmCost = new LinkedHashMap<>();
+        for (SweepCell cell : cells) {
+            algorithmRuns.merge(cell.algorithmName, 1L, Long::sum);
+            algorithmCost.merge(cell.algorithmName, getCost(cell), Long::sum);
+        }
+        final long totalCost = algorithmCost.values().stream().mapToLong(Long::longValue).sum();
+        algorithmRuns.forEach((name, count) -> Logger.logInfo(String.format(
+                "\t%s: %d runs, %.1f%% of relative cost (2^t x interactionCount per run)",
+                name, count, totalCost == 0 ? 0 : 100.0 * algorithmCost.get(name) / totalCost)));
+
+        final long runTimeout = evaluator.runTimeoutProperty.getValue();
+        if (runTimeout > 0) {
+            Logger.logInfo("Worst case duration: " + Duration.ofMillis(runs * runTimeout));
+        }
+    }
+
+    /**
+     * Relative cost of a run, which grows with the number of t-wise
+     * interactions a finder has to consider. It is only meaningful compared to
+     * the cost of other runs and is no estimate of time.
+     *
+     * @param cell the run
+     * @return the relative cost
+     */
+    private static long getCost(SweepCell cell) {
+        return (1L << Math.min(Math.max(cell.t, 0), 20)) * Math.max(cell.interactionCount, 1);
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+
+/**
+ * Generates seeded CNF feature models of arbitrary size in DIMACS format. A
+ * model consists of a feature tree with mandatory, optional, alternative, and
+ * or groups and of random cross-tree constraints. All parameters are encoded
+ * in the model name, so that synthetic models can be listed in models.txt like
+ * real ones, e.g., {@code synthetic_v100000_s1_c0.2}:
+ * <ul>
+ * <li>{@code v} number of variables (1000)</li>
+ * <li>{@code s} random seed (0)</li>
+ * <li>{@code b} average number of children per feature (4)</li>
+ * <li>{@code g} share of features in alternative or or groups (0.2)</li>
+ * <li>{@code k} share of core features (0.05)</li>
+ * <li>{@code a} share of features that are mandatory children of non-core
+ * features, i.e., form atomic sets with their parents (0.1)</li>
+ * <li>{@code c} number of cross-tree constraints per variable (0.1)</li>
+ * <li>{@code l} weights of the cross-tree constraint lengths, starting at
+ * length 2, separated by {@code -} (6-3-1)</li>
+ * </ul>
+ * Cross-tree constraints are chosen such that they are satisfied by a random
+ * valid configuration of the tree, so all generated models are satisfiable.
+ * <p>
+ * Usage: {@code SyntheticModelGenerator <name> [outputDirectory]}
+ */
+public class SyntheticModelGenerator {
+
+    public static final String PREFIX = "synthetic";
+
+    private static final int MAX_GROUP_SIZE = 5;
+
+    private int variableCount = 1000;
+    private long seed = 0;
+    private int branching = 4;
+    private double groupRatio = 0.2;
+    private double coreRatio = 0.05;
+    private double atomicSetRatio = 0.1;
+    private double crossTreeRatio = 0.1;
+    private double[] clauseLengthWeights = {6, 3, 1};
+
+    private final List<int[]> clauses = new ArrayList<>();
+    private boolean[] reference;
+    private Random random;
+
+    public static void main(String[] args) throws IOException {
+        final Path directory = args.length > 1 ? Paths.get(args[1]) : Paths.get(".");
+        System.out.println(generate(args[0], directory));
+    }
+
+    public static boolean isSyntheticName(String name) {
+        return name.equals(PREFIX) || name.startsWith(PREFIX + "_");
+    }
+
+    /**
+     * Writes the model with the given name to the given directory, unless it
+     * was already generated.
+     *
+     * @param name the name of the model
+     * @param directory the directory
+     * @return the path of the model
+     * @throws IOException if the model cannot be written
+     */
+    public static Path generate(String name, Path directory) throws IOException {
+        final Path modelPath = directory.resolve(name + ".dimacs");
+        if (!Files.exists(modelPath)) {
+            Files.createDirectories(directory);
+            final Path tempPath = Files.createTempFile(directory, name, ".tmp");
+            fromName(name).write(tempPath);
+            Files.move(tempPath, modelPath);
+        }
+        return modelPath;
+    }
+
+    /**
+     * @param name the name of a synthetic model
+     * @return a generator with the parameters encoded in the name
+     * @throws IllegalArgumentException if the name cannot be parsed
+     */
+    public static SyntheticModelGenerator fromName(String name) {
+        if (!isSyntheticName(name)) {
+            throw new IllegalArgumentException(name);
+        }
+        final SyntheticModelGenerator generator = new SyntheticModelGenerator();
+        for (String parameter : name.substring(PREFIX.length()).split("_")) {
+            if (parameter.isEmpty()) {
+                continue;
+            }
+            final String value = parameter.substring(1);
+            switch (parameter.charAt(0)) {
+                case 'v':
+                    generator.variableCount = Integer.parseInt(value);
+                    break;
+                case 's':
+                    generator.seed = Long.parseLong(value);
+                    break;
+                case 'b':
+                    generator.branching = Integer.parseInt(value);
+                    break;
+                case 'g':
+                    generator.groupRatio = Double.parseDouble(value);
+                    break;
+                case 'k':
+                    generator.coreRatio = Double.parseDouble(value);
+                    break;
+                case 'a':
+                    generator.atomicSetRatio = Double.parseDouble(value);
+                    break;
+                case 'c':
+                    generator.crossTreeRatio = Double.parseDouble(value);
+                    break;
+                case 'l':
+                    generator.clauseLengthWeights = Arrays.stream(value.split("-"))
+                            .mapToDouble(Double::parseDouble)
+                            .toArray();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown parameter " + parameter + " in " + name);
+            }
+        }
+        if (generator.variableCount < 1 || generator.branching < 1) {
+            throw new IllegalArgumentException(name);
+        }
+        return generator;
+    }
+
+    public void write(Path path) throws IOException {
+        generate();
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            for (int i = 1; i <= variableCount; i++) {
+                writer.write("c " + i + " " + (i == 1 ? "Root" : "F" + i) + "\n");
+            }
+            writer.write("p cnf " + variableCount + " " + clauses.size() + "\n");
+            final StringBuilder sb = new StringBuilder();
+            for (int[] clause : clauses) {
+                sb.setLength(0);
+                for (int literal : clause) {
+                    sb.append(literal);
+                    sb.append(' ');
+                }
+                sb.append("0\n");
+                writer.write(sb.toString());
+            }
+        }
+    }
+
+    private void generate() {
+        random = new Random(seed);
+        clauses.clear();
+        reference = new boolean[variableCount + 1];
+        final boolean[] core = new boolean[variableCount + 1];
+        final int coreTarget = Math.max(1, (int) Math.round(coreRatio * variableCount));
+        int coreCount = 1;
+
+        core[1] = true;
+        reference[1] = true;
+        clauses.add(new int[] {1});
+        final Queue<Integer> openFeatures = new ArrayDeque<>();
+        openFeatures.add(1);
+        int nextVariable = 2;
+        while (nextVariable <= variableCount) {
+            final int parent = openFeatures.isEmpty() ? 1 + random.nextInt(nextVariable - 1) : openFeatures.poll();
+            final int childCount =
+                    Math.min(1 + random.nextInt(2 * branching - 1), variableCount - nextVariable + 1);
+            int remainingChildren = childCount;
+            while (remainingChildren > 0) {
+                final double type = random.nextDouble();
+                if (core[parent] && coreCount < coreTarget) {
+                    final int child = nextVariable++;
+                    addMandatory(parent, child);
+                    core[child] = true;
+                    coreCount++;
+                    openFeatures.add(child);
+                    remainingChildren--;
+                } else if (type < atomicSetRatio) {
+                    final int child = nextVariable++;
+                    addMandatory(parent, child);
+                    openFeatures.add(child);
+                    remainingChildren--;
+                } else if (type < atomicSetRatio + groupRatio && remainingChildren >= 2) {
+                    final int groupSize = 2 + random.nextInt(Math.min(MAX_GROUP_SIZE, remainingChildren) - 1);
+                    addGroup(parent, nextVariable, groupSize, random.nextBoolean());
+                    for (int i = 0; i < groupSize; i++) {
+                        openFeatures.add(nextVariable++);
+                    }
+                    remainingChildren -= groupSize;
+                } else {
+                    final int child = nextVariable++;
+                    clauses.add(new int[] {-child, parent});
+                    reference[child] = reference[parent] && random.nextBoolean();
+                    openFeatures.add(child);
+                    remainingChildren--;
+                }
+            }
+        }
+
+        final int constraintCount = (int) Math.round(crossTreeRatio * variableCount);
+        for (int i = 0; i < constraintCount && variableCount > 2; i++) {
+            addCrossTreeConstraint(core);
+        }
+    }
+
+    private void addMandatory(int parent, int child) {
+        clauses.add(new int[] {-child, parent});
+        clauses.add(new int[] {-parent, child});
+        reference[child] = reference[parent];
+    }
+
+    private void addGroup(int parent, int firstChild, int groupSize, boolean alternative) {
+        final int[] groupClause = new int[groupSize + 1];
+        groupClause[0] = -parent;
+        for (int i = 0; i < groupSize; i++) {
+            final int child = firstChild + i;
+            clauses.add(new int[] {-child, parent});
+            groupClause[i + 1] = child;
+            if (alternative) {
+                for (int j = 0; j < i; j++) {
+                    clauses.add(new int[] {-(firstChild + j), -child});
+                }
+            }
+        }
+        clauses.add(groupClause);
+        if (reference[parent]) {
+            final int selectedChild = firstChild + random.nextInt(groupSize);
+            for (int i = 0; i < groupSize; i++) {
+                final int child = firstChild + i;
+                reference[child] = child == selectedChild || (!alternative && random.nextBoolean());
+            }
+        }
+    }
+
+    /**
+     * Adds a random clause over non-core variables that is satisfied by the
+     * reference configuration.
+     */
+    private void addCrossTreeConstraint(boolean[] core) {
+        final int length = Math.min(getClauseLength(), variableCount - 1);
+        final int[] clause = new int[length];
+        boolean satisfied = false;
+        int attempts = 0;
+        for (int i = 0; i < length; ) {
+            final int variable = 2 + random.nextInt(variableCount - 1);
+            if (core[variable] && attempts++ < length * 4) {
+                continue;
+            }
+            if (contains(clause, i, variable)) {
+                continue;
+            }
+            clause[i] = random.nextBoolean() ? variable : -variable;
+            satisfied |= (clause[i] > 0) == reference[variable];
+            i++;
+        }
+        if (!satisfied) {
+            final int variable = Math.abs(clause[0]);
+            clause[0] = reference[variable] ? variable : -variable;
+        }
+        clauses.add(clause);
+    }
+
+    private static boolean contains(int[] clause, int length, int variable) {
+        for (int i = 0; i < length; i++) {
+            if (Math.abs(clause[i]) == variable) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int getClauseLength() {
+        double total = 0;
+        for (double weight : clauseLengthWeights) {
+            total += weight;
+        }
+        double value = random.nextDouble() * total;
+        for (int i = 0; i < clauseLengthWeights.length; i++) {
+            value -= clauseLengthWeights[i];
+            if (value < 0) {
+                return i + 2;
+            }
+        }
+        return clauseLengthWeights.length + 1;
+    }
+}
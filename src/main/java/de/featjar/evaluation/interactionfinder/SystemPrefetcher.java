@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Prepares the next systems of a sweep in a background thread while the runs
+ * of the current system are executed. At most {@code depth} systems are
+ * prepared ahead to bound the memory consumption.
+ */
+public class SystemPrefetcher implements AutoCloseable {
+
+    private final int depth;
+    private final int systemCount;
+    private final IntFunction<PreparedSystem> preparation;
+    private final Map<Integer, Future<PreparedSystem>> pending = new HashMap<>();
+    private final ExecutorService executor;
+    private int nextIndex;
+
+    /**
+     * @param depth the number of systems to prepare ahead (0 prepares each
+     *        system when it is requested)
+     * @param systemCount the number of systems
+     * @param preparation prepares the system with the given index
+     */
+    public SystemPrefetcher(int depth, int systemCount, IntFunction<PreparedSystem> preparation) {
+        this.depth = Math.max(0, depth);
+        this.systemCount = systemCount;
+        this.preparation = preparation;
+        executor = this.depth > 0
+                ? Executors.newSingleThreadExecutor(r -> {
+                    Thread thread = new Thread(r, "system-prefetcher");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+    }
+
+    /**
+     * Returns the prepared system with the given index and starts preparing
+     * the following systems.
+     *
+     * @param systemIndex the index of the system
+     * @return the prepared system
+     */
+    public PreparedSystem get(int systemIndex) {
+        if (executor == null) {
+            return preparation.apply(systemIndex);
+        }
+        nextIndex = Math.max(nextIndex, systemIndex);
+        final int lastIndex = Math.min(systemCount - 1, systemIndex + depth);
+        for (; nextIndex <= lastIndex; nextIndex++) {
+            final int index = nextIndex;
+            pending.put(index, executor.submit(() -> preparation.apply(index)));
+        }
+        final Future<PreparedSystem> future = pending.remove(systemIndex);
+        if (future == null) {
+            return preparation.apply(systemIndex);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            pending.values().forEach(f -> f.cancel(true));
+            pending.clear();
+            executor.shutdownNow();
+        }
+    }
+}
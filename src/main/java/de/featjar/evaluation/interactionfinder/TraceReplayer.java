@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import de.featjar.clauses.LiteralList;
+import de.featjar.clauses.solutions.analysis.ConfigurationVerifyer;
+import de.featjar.clauses.solutions.analysis.InteractionFinder;
+import de.featjar.evaluation.interactionfinder.VerificationTrace.Record;
+import de.featjar.util.logging.Logger;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Re-runs an interaction finder against a {@link VerificationTrace}. All
+ * verifications and updater calls are answered from the trace, so neither a
+ * SAT solver nor an oracle is involved and the measured time is the finder's
+ * own overhead. The verification and creation limits of the traced run apply
+ * to the replay as well.
+ * <p>
+ * Usage: {@code TraceReplayer <trace> [<algorithm> [<repetitions>]]}
+ */
+public class TraceReplayer {
+
+    private final VerificationTrace.Reader trace;
+    private final Map<IntBuffer, Integer> verificationResults = new HashMap<>();
+
+    private int position;
+    private int divergences;
+
+    public TraceReplayer(VerificationTrace.Reader trace) {
+        this.trace = trace;
+        for (Record record : trace.getRecords()) {
+            if (record.isVerification()) {
+                // IntBuffer compares by content
+                verificationResults.put(IntBuffer.wrap(record.getConfiguration().getLiterals()), record.getResult());
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        VerificationTrace.Reader trace = new VerificationTrace.Reader(Paths.get(args[0]));
+        String algorithmName = args.length > 1 ? args[1] : trace.getAlgorithm();
+        int repetitions = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+
+        TraceReplayer replayer = new TraceReplayer(trace);
+        for (int i = 1; i <= repetitions; i++) {
+            InteractionFinder algorithm = InteractionFinderRunner.parseAlgorithm(algorithmName);
+            long startTime = System.nanoTime();
+            List<LiteralList> foundInteractions = null;
+            RunResult.Status status = RunResult.Status.Completed;
+            try {
+                foundInteractions = replayer.replay(algorithm);
+            } catch (BudgetExhaustedException e) {
+                status = e.getStatus();
+            }
+            long endTime = System.nanoTime();
+            Logger.logInfo(String.format(
+                    "%d: %s t=%d status=%s time=%.3fms records=%d/%d divergences=%d found=%s",
+                    i,
+                    algorithmName,
+                    trace.getT(),
+                    status,
+                    (endTime - startTime) / 1_000_000.0,
+                    replayer.position,
+                    trace.getRecords().size(),
+                    replayer.divergences,
+                    foundInteractions));
+        }
+    }
+
+    /**
+     * Runs the given finder against the trace.
+     *
+     * @param algorithm the finder
+     * @return the found interactions
+     * @throws BudgetExhaustedException if the finder exceeds the limits of the
+     *             traced run
+     */
+    public List<LiteralList> replay(InteractionFinder algorithm) {
+        position = 0;
+        divergences = 0;
+        algorithm.reset();
+        algorithm.setCore(trace.getCore());
+        algorithm.setVerifier(new LimitedConfigurationVerifyer(createVerifier(), trace.getVerificationLimit()));
+        algorithm.setUpdater(new LimitedConfigurationUpdater(this::replayUpdate, trace.getCreationLimit()));
+        algorithm.addConfigurations(trace.getSample());
+        return algorithm.find(trace.getT());
+    }
+
+    /**
+     * Answers an updater call with the next update record. Verification
+     * records before it were not requested by the finder and are skipped, so
+     * that the replay gets back in step after divergent verifications. The
+     * partial configuration must match the recorded one, as the recorded
+     * completion is not valid for another partial configuration.
+     */
+    private Optional<LiteralList> replayUpdate(LiteralList partial) {
+        Record record = peekRecord();
+        while (record != null && record.isVerification()) {
+            divergences++;
+            position++;
+            record = peekRecord();
+        }
+        if (record == null
+                || !IntBuffer.wrap(record.getConfiguration().getLiterals())
+                        .equals(IntBuffer.wrap(partial.getLiterals()))) {
+            throw new IllegalStateException("Trace diverged at record " + position + " (update)");
+        }
+        position++;
+        return record.getCompletion();
+    }
+
+    /**
+     * Answers verifications with the next record, if it matches. Otherwise, the
+     * record is kept for later calls and the result is taken from any
+     * verification of the same configuration in the trace.
+     */
+    private ConfigurationVerifyer createVerifier() {
+        return configuration -> {
+            final Record record = peekRecord();
+            if (record != null
+                    && record.isVerification()
+                    && IntBuffer.wrap(record.getConfiguration().getLiterals())
+                            .equals(IntBuffer.wrap(configuration.getLiterals()))) {
+                position++;
+                return record.getResult();
+            }
+            divergences++;
+            final Integer result = verificationResults.get(IntBuffer.wrap(configuration.getLiterals()));
+            if (result == null) {
+                throw new IllegalStateException("Trace diverged at record " + position + " (verification)");
+            }
+            return result;
+        };
+    }
+
+    private Record peekRecord() {
+        final List<Record> records = trace.getRecords();
+        return position < records.size() ? records.get(position) : null;
+    }
+}
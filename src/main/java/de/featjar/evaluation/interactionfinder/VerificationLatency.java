@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import de.featjar.clauses.LiteralList;
+import java.util.Random;
+
+/**
+ * Simulated time a verification of a configuration takes. Latencies are
+ * specified as {@code none}, {@code fixed:<ms>}, {@code uniform:<min>:<max>},
+ * {@code normal:<mean>:<sd>}, {@code exponential:<mean>}, or
+ * {@code size:<base>:<per selected feature>} (all values in milliseconds).
+ */
+@FunctionalInterface
+public interface VerificationLatency {
+
+    VerificationLatency NONE = (c, r) -> 0;
+
+    /**
+     * Computes the latency of verifying a configuration.
+     *
+     * @param configuration the verified configuration
+     * @param random the random instance of the verification
+     * @return the latency in milliseconds
+     */
+    long getLatency(LiteralList configuration, Random random);
+
+    static VerificationLatency parse(String specification) {
+        final String[] parts = specification.split(":");
+        switch (parts[0]) {
+            case "none":
+                return NONE;
+            case "fixed": {
+                final long latency = Long.parseLong(parts[1]);
+                return (c, r) -> latency;
+            }
+            case "uniform": {
+                final long min = Long.parseLong(parts[1]);
+                final long max = Long.parseLong(parts[2]);
+                return (c, r) -> min + (long) (r.nextDouble() * (max - min));
+            }
+            case "normal": {
+                final double mean = Double.parseDouble(parts[1]);
+                final double sd = Double.parseDouble(parts[2]);
+                return (c, r) -> Math.max(0, Math.round(mean + r.nextGaussian() * sd));
+            }
+            case "exponential": {
+                final double mean = Double.parseDouble(parts[1]);
+                return (c, r) -> Math.round(-mean * Math.log(1 - r.nextDouble()));
+            }
+            case "size": {
+                final double base = Double.parseDouble(parts[1]);
+                final double perFeature = Double.parseDouble(parts[2]);
+                return (c, r) -> Math.round(base + perFeature * Configurations.countSelected(c));
+            }
+            default:
+                throw new IllegalArgumentException("Unknown verification latency " + specification);
+        }
+    }
+}
@@ -0,0 +1,367 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import de.featjar.clauses.LiteralList;
+import de.featjar.clauses.solutions.analysis.ConfigurationUpdater;
+import de.featjar.clauses.solutions.analysis.ConfigurationVerifyer;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Binary trace of all verifications and updater calls of a single run.
+ * <p>
+ * A trace starts with a header containing the algorithm, t, the verification
+ * and creation limits, the core, and the initial sample, followed by one
+ * record per verification (configuration and result) and per updater call
+ * (partial configuration and completion). Integers are stored as zig-zag
+ * varints. Each literal list is stored as the difference to the previous
+ * literal list of the same kind (verified configuration, partial
+ * configuration, or completion), which is small for the configurations that
+ * finders create by changing few variables at a time.
+ */
+public final class VerificationTrace {
+
+    public static final String FILE_EXTENSION = "trace";
+
+    private static final int MAGIC = 0x46545243;
+    private static final int VERSION = 2;
+
+    private static final int RECORD_END = 0;
+    private static final int RECORD_VERIFICATION = 1;
+    private static final int RECORD_UPDATE = 2;
+
+    private static final int LITERALS_FULL = 0;
+    private static final int LITERALS_DELTA = 1;
+
+    private VerificationTrace() {}
+
+    /**
+     * Writes a trace. All methods are synchronized, as verifiers may be called
+     * concurrently.
+     */
+    public static class Writer implements Closeable {
+
+        private final DataOutputStream out;
+        private int[] lastVerified = new int[0];
+        private int[] lastPartial = new int[0];
+        private int[] lastCompletion = new int[0];
+
+        public Writer(
+                Path path,
+                String algorithm,
+                int t,
+                int verificationLimit,
+                int creationLimit,
+                LiteralList core,
+                List<LiteralList> sample)
+                throws IOException {
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+            out.writeInt(MAGIC);
+            writeVarInt(VERSION);
+            out.writeUTF(algorithm);
+            writeVarInt(t);
+            writeVarInt(verificationLimit);
+            writeVarInt(creationLimit);
+            writeLiterals(core.getLiterals(), new int[0]);
+            writeVarInt(sample.size());
+            int[] last = new int[0];
+            for (LiteralList configuration : sample) {
+                last = writeLiterals(configuration.getLiterals(), last);
+            }
+        }
+
+        public ConfigurationVerifyer recordVerifier(ConfigurationVerifyer verifier) {
+            return configuration -> {
+                final int result = verifier.test(configuration);
+                writeVerification(configuration, result);
+                return result;
+            };
+        }
+
+        public ConfigurationUpdater recordUpdater(ConfigurationUpdater updater) {
+            return partial -> {
+                final Optional<LiteralList> completion = updater.update(partial);
+                writeUpdate(partial, completion);
+                return completion;
+            };
+        }
+
+        private synchronized void writeVerification(LiteralList configuration, int result) {
+            try {
+                writeVarInt(RECORD_VERIFICATION);
+                lastVerified = writeLiterals(configuration.getLiterals(), lastVerified);
+                writeVarInt(result);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private synchronized void writeUpdate(LiteralList partial, Optional<LiteralList> completion) {
+            try {
+                writeVarInt(RECORD_UPDATE);
+                lastPartial = writeLiterals(partial.getLiterals(), lastPartial);
+                if (completion.isPresent()) {
+                    writeVarInt(1);
+                    lastCompletion = writeLiterals(completion.get().getLiterals(), lastCompletion);
+                } else {
+                    writeVarInt(0);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private int[] writeLiterals(int[] literals, int[] last) throws IOException {
+            if (literals.length == last.length) {
+                int changes = 0;
+                for (int i = 0; i < literals.length; i++) {
+                    if (literals[i] != last[i]) {
+                        changes++;
+                    }
+                }
+                writeVarInt(LITERALS_DELTA);
+                writeVarInt(changes);
+                int lastIndex = 0;
+                for (int i = 0; i < literals.length; i++) {
+                    if (literals[i] != last[i]) {
+                        writeVarInt(i - lastIndex);
+                        writeVarInt(literals[i]);
+                        lastIndex = i;
+                    }
+                }
+            } else {
+                writeVarInt(LITERALS_FULL);
+                writeVarInt(literals.length);
+                for (int literal : literals) {
+                    writeVarInt(literal);
+                }
+            }
+            return literals;
+        }
+
+        private void writeVarInt(int value) throws IOException {
+            int zigZag = (value << 1) ^ (value >> 31);
+            while ((zigZag & ~0x7F) != 0) {
+                out.writeByte((zigZag & 0x7F) | 0x80);
+                zigZag >>>= 7;
+            }
+            out.writeByte(zigZag);
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            writeVarInt(RECORD_END);
+            out.close();
+        }
+    }
+
+    /**
+     * A single verification or updater call of a trace.
+     */
+    public static class Record {
+        private final LiteralList configuration;
+        private final int result;
+        private final Optional<LiteralList> completion;
+
+        private Record(LiteralList configuration, int result) {
+            this.configuration = configuration;
+            this.result = result;
+            completion = null;
+        }
+
+        private Record(LiteralList partial, Optional<LiteralList> completion) {
+            configuration = partial;
+            result = 0;
+            this.completion = completion;
+        }
+
+        public boolean isVerification() {
+            return completion == null;
+        }
+
+        /**
+         * @return the verified configuration or the partial configuration
+         *         passed to the updater
+         */
+        public LiteralList getConfiguration() {
+            return configuration;
+        }
+
+        public int getResult() {
+            return result;
+        }
+
+        public Optional<LiteralList> getCompletion() {
+            return completion;
+        }
+    }
+
+    /**
+     * Reads a trace completely into memory.
+     */
+    public static class Reader {
+
+        private final DataInputStream in;
+        private int[] lastVerified = new int[0];
+        private int[] lastPartial = new int[0];
+        private int[] lastCompletion = new int[0];
+
+        private String algorithm;
+        private int t;
+        private int verificationLimit, creationLimit;
+        private LiteralList core;
+        private final List<LiteralList> sample = new ArrayList<>();
+        private final List<Record> records = new ArrayList<>();
+
+        public Reader(Path path) throws IOException {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+                this.in = in;
+                read();
+            }
+        }
+
+        private void read() throws IOException {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a verification trace");
+            }
+            final int version = readVarInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported trace version " + version);
+            }
+            algorithm = in.readUTF();
+            t = readVarInt();
+            verificationLimit = readVarInt();
+            creationLimit = readVarInt();
+            core = toLiteralList(readLiterals(new int[0]));
+            final int sampleSize = readVarInt();
+            int[] last = new int[0];
+            for (int i = 0; i < sampleSize; i++) {
+                last = readLiterals(last);
+                sample.add(toLiteralList(last));
+            }
+            while (true) {
+                final int recordType = readVarInt();
+                if (recordType == RECORD_VERIFICATION) {
+                    lastVerified = readLiterals(lastVerified);
+                    records.add(new Record(toLiteralList(lastVerified), readVarInt()));
+                } else if (recordType == RECORD_UPDATE) {
+                    lastPartial = readLiterals(lastPartial);
+                    final LiteralList partial = toLiteralList(lastPartial);
+                    Optional<LiteralList> completion = Optional.empty();
+                    if (readVarInt() != 0) {
+                        lastCompletion = readLiterals(lastCompletion);
+                        completion = Optional.of(toLiteralList(lastCompletion));
+                    }
+                    records.add(new Record(partial, completion));
+                } else if (recordType == RECORD_END) {
+                    return;
+                } else {
+                    throw new IOException("Unknown record type " + recordType);
+                }
+            }
+        }
+
+        private static LiteralList toLiteralList(int[] literals) {
+            boolean index = true;
+            boolean natural = true;
+            for (int i = 0; i < literals.length; i++) {
+                index &= literals[i] == 0 || Math.abs(literals[i]) == i + 1;
+                natural &= i == 0 || Math.abs(literals[i - 1]) < Math.abs(literals[i]);
+            }
+            final LiteralList.Order order = index
+                    ? LiteralList.Order.INDEX
+                    : natural ? LiteralList.Order.NATURAL : LiteralList.Order.UNORDERED;
+            return new LiteralList(literals.clone(), order);
+        }
+
+        private int[] readLiterals(int[] last) throws IOException {
+            final int encoding = readVarInt();
+            if (encoding == LITERALS_DELTA) {
+                final int[] literals = last.clone();
+                final int changes = readVarInt();
+                int index = 0;
+                for (int i = 0; i < changes; i++) {
+                    index += readVarInt();
+                    literals[index] = readVarInt();
+                }
+                return literals;
+            } else {
+                final int[] literals = new int[readVarInt()];
+                for (int i = 0; i < literals.length; i++) {
+                    literals[i] = readVarInt();
+                }
+                return literals;
+            }
+        }
+
+        private int readVarInt() throws IOException {
+            int zigZag = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                final int b = in.readByte();
+                zigZag |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return (zigZag >>> 1) ^ -(zigZag & 1);
+                }
+            }
+            throw new EOFException("Malformed varint");
+        }
+
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        public int getT() {
+            return t;
+        }
+
+        public int getVerificationLimit() {
+            return verificationLimit;
+        }
+
+        public int getCreationLimit() {
+            return creationLimit;
+        }
+
+        public LiteralList getCore() {
+            return core;
+        }
+
+        public List<LiteralList> getSample() {
+            return sample;
+        }
+
+        public List<Record> getRecords() {
+            return records;
+        }
+    }
+}
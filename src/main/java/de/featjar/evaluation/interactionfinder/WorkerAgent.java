@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import de.featjar.util.logging.Logger;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Connects to a {@link SweepCoordinator}, runs the tasks it receives with a
+ * {@link LocalRunExecutor}, and sends back the results. While a task runs, the
+ * agent sends heartbeats. Must be started in the project directory, so that
+ * the runner jar is found.
+ * <p>
+ * Usage: {@code WorkerAgent <host> <port> [workDir [name]]}
+ */
+public class WorkerAgent {
+
+    static final long HEARTBEAT_INTERVAL = 5_000;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        final String host = args[0];
+        final int port = Integer.parseInt(args[1]);
+        final Path workPath = args.length > 2 ? Paths.get(args[2]) : Files.createTempDirectory("worker-agent");
+        Files.createDirectories(workPath);
+        final String name = args.length > 3
+                ? args[3]
+                : InetAddress.getLocalHost().getHostName() + "-" + ProcessHandle.current().pid();
+        new WorkerAgent(workPath).run(host, port, name);
+    }
+
+    private final LocalRunExecutor executor;
+    private final ExecutorService runThread = Executors.newSingleThreadExecutor();
+
+    public WorkerAgent(Path workPath) {
+        executor = new LocalRunExecutor(workPath);
+    }
+
+    /**
+     * Executes tasks until the coordinator says goodbye or the connection is
+     * lost.
+     *
+     * @param host the host of the coordinator
+     * @param port the port of the coordinator
+     * @param name the name of this agent
+     * @throws IOException if the connection fails
+     * @throws InterruptedException if interrupted while running a task
+     */
+    public void run(String host, int port, String name) throws IOException, InterruptedException {
+        try (Socket socket = new Socket(host, port);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            out.writeByte(SweepCoordinator.HELLO);
+            out.writeUTF(name);
+            out.flush();
+            Logger.logInfo("Connected to " + host + ":" + port + " as " + name);
+            byte message;
+            while ((message = in.readByte()) == SweepCoordinator.TASK) {
+                final RunTask task = RunTask.read(in);
+                Logger.logInfo("Running " + task.cellKey);
+                final RunOutput output = execute(task, out);
+                out.writeByte(SweepCoordinator.RESULT);
+                out.writeLong(task.id);
+                output.write(out);
+                out.flush();
+            }
+            if (message != SweepCoordinator.BYE) {
+                throw new IOException("Unexpected message " + message);
+            }
+            Logger.logInfo("Finished");
+        } finally {
+            runThread.shutdownNow();
+        }
+    }
+
+    private RunOutput execute(RunTask task, DataOutputStream out) throws IOException, InterruptedException {
+        final Future<RunOutput> future = runThread.submit(() -> executor.run(task));
+        while (true) {
+            try {
+                return future.get(HEARTBEAT_INTERVAL, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                out.writeByte(SweepCoordinator.HEARTBEAT);
+                out.flush();
+            } catch (ExecutionException e) {
+                Logger.logError(e.getCause());
+                return new RunOutput(RunOutput.FAILED_EXIT_CODE, task.heapSize);
+            }
+        }
+    }
+}
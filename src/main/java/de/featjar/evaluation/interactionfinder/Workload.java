@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-interaction-analysis.
+ *
+ * evaluation-interaction-analysis is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-interaction-analysis is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-interaction-analysis. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.interactionfinder;
+
+import de.featjar.clauses.LiteralList;
+import java.util.List;
+
+/**
+ * Faulty configurations and interactions that are injected into the oracle
+ * for all runs of one system iteration, interaction size, and interaction
+ * count.
+ */
+public class Workload {
+
+    final int systemIteration, interactionSize, interactionCount;
+    final List<LiteralList> faultyConfigs;
+    final List<LiteralList> faultyInteractions, faultyInteractionsUpdated;
+    final PhaseTimer phaseTimer = new PhaseTimer();
+    /**
+     * Whether the workload was taken from the previous version of the model
+     * instead of being generated for this model.
+     */
+    boolean reused;
+    private String contentKey;
+
+    public Workload(
+            int systemIteration,
+            int interactionSize,
+            int interactionCount,
+            List<LiteralList> faultyConfigs,
+            List<LiteralList> faultyInteractions,
+            List<LiteralList> faultyInteractionsUpdated) {
+        this.systemIteration = systemIteration;
+        this.interactionSize = interactionSize;
+        this.interactionCount = interactionCount;
+        this.faultyConfigs = faultyConfigs;
+        this.faultyInteractions = faultyInteractions;
+        this.faultyInteractionsUpdated = faultyInteractionsUpdated;
+    }
+
+    /**
+     * @return a key of the faulty configurations and interactions, so that runs
+     *         on different workloads never share a result
+     */
+    public String getContentKey() {
+        if (contentKey == null) {
+            contentKey = RunKey.of(
+                    FindingPhase.encodeLiterals(faultyConfigs),
+                    FindingPhase.encodeLiterals(faultyInteractions),
+                    FindingPhase.encodeLiterals(faultyInteractionsUpdated));
+        }
+        return contentKey;
+    }
+
+    public boolean matches(int systemIteration, SweepCell cell) {
+        return this.systemIteration == systemIteration
+                && interactionSize == cell.interactionSize
+                && interactionCount == cell.interactionCount;
+    }
+}